@@ -0,0 +1,248 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.benchmarks;
+
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerProperties;
+import io.github.handy.messaging.core.configuration.Profile;
+import io.github.handy.messaging.core.consumer.MessageConsumingSystem;
+import io.github.handy.messaging.core.metrics.HistogramSnapshot;
+import io.github.handy.messaging.core.metrics.LatencyHistogram;
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.MessageHandler;
+import io.github.handy.messaging.memcell.clients.MemcellMessagingAdministrator;
+import io.github.handy.messaging.memcell.clients.MemcellMessagingProducer;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full consumer pipeline, from a message being published to a Memcell queue through the
+ * MessageConsumingSystem, the consumer actor, the dispatcher actor and the worker actors to the message handler.
+ * Every operation publishes a burst of messages and waits until the handler has seen all of them, so the primary
+ * scores are per message. The throughput benchmark reports messages per second. The latency benchmark stamps every
+ * message with the time it is published and the handler records the time from publish to handling of each message
+ * in a histogram, reported as the secondary publishToHandle results in microseconds. Its primary score is the burst
+ * time per message, which includes the publishing. Run with {@code -prof gc} to also report the allocation rate
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsumerPipelineBenchmark {
+
+    private static final int MESSAGES_PER_OPERATION = 1000;
+    private static final String MESSAGING_INSTANCE = "benchmark-instance";
+    private static final String QUEUE_NAME = "benchmark-queue";
+
+    @Param({"10", "100"})
+    public int batchSize;
+
+    /**
+     * Number of transaction groups the messages of a burst are spread over. A burst of 1000 messages over 1000
+     * transaction groups gives every message a transaction group of its own
+     */
+    @Param({"1", "16", "1000"})
+    public int transactionGroups;
+
+    /**
+     * CPU work done by the handler per message, in JMH tokens
+     */
+    @Param({"0", "1000"})
+    public long handlerCpuTokens;
+
+    private MemcellMessagingAdministrator administrator;
+    private MemcellMessagingProducer producer;
+    private CountingMessageHandler messageHandler;
+    private List<Message> messages;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        this.administrator = new MemcellMessagingAdministrator();
+        this.administrator.registerMessagingService(MESSAGING_INSTANCE);
+        this.administrator.registerMessagingQueue(QUEUE_NAME, MESSAGING_INSTANCE);
+        this.producer = new MemcellMessagingProducer(MESSAGING_INSTANCE);
+        this.messageHandler = new CountingMessageHandler(handlerCpuTokens);
+
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, batchSize);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 100);
+            put("memcell.messaging.instance", MESSAGING_INSTANCE);
+            put("application.id", "benchmark-consumer");
+        }});
+        Profile profile = new Profile.ProfileBuilder()
+                .setProfileName("benchmark")
+                .setSystem("memcell-mq")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile();
+        MessageConsumingSystem.getInstance().setupConsumer(profile,
+                QUEUE_NAME,
+                SimpleMessage.class.getName(),
+                this.messageHandler);
+
+        this.messages = new ArrayList<>();
+        for(int idx = 0; idx < MESSAGES_PER_OPERATION; idx++){
+            SimpleMessage message = new SimpleMessage()
+                    .setMessageId(String.format("message-%s", idx))
+                    .setSender("benchmark")
+                    .setContentSchema("benchmark")
+                    .setTransactionGroupId(String.format("group-%s", idx % transactionGroups))
+                    .setPayload(new byte[64]);
+            message.buildMessage();
+            this.messages.add(message);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies(){
+        this.messageHandler.resetLatencies();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        this.administrator.tearDownMessagingService(MESSAGING_INSTANCE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(MESSAGES_PER_OPERATION)
+    public void throughput() throws Exception {
+        this.consumeBurst();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(MESSAGES_PER_OPERATION)
+    public void latency(PublishToHandleLatency publishToHandleLatency) throws Exception {
+        CountDownLatch completion = this.messageHandler.expect(MESSAGES_PER_OPERATION);
+        for(Message message : this.messages){
+            SimpleMessage stampedMessage = (SimpleMessage) message;
+            stampedMessage.wrapPayload(ByteBuffer.allocate(64).putLong(0, System.nanoTime()).array());
+            stampedMessage.buildMessage();
+            this.producer.sendMessage(QUEUE_NAME, stampedMessage);
+        }
+        this.awaitBurst(completion);
+        publishToHandleLatency.update(this.messageHandler.getLatencies());
+    }
+
+    private void consumeBurst() throws Exception {
+        CountDownLatch completion = this.messageHandler.expect(MESSAGES_PER_OPERATION);
+        this.messages.forEach(message -> this.producer.sendMessage(QUEUE_NAME, message));
+        this.awaitBurst(completion);
+    }
+
+    private void awaitBurst(CountDownLatch completion) throws Exception {
+        if(!completion.await(60, TimeUnit.SECONDS)){
+            throw new IllegalStateException(String.format("Only %s of %s messages were handled",
+                    MESSAGES_PER_OPERATION - completion.getCount(), MESSAGES_PER_OPERATION));
+        }
+    }
+
+    /**
+     * Secondary results of the latency benchmark. Holds the percentiles of the publish to handle time of the messages
+     * handled in the current iteration, in microseconds
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PublishToHandleLatency {
+
+        public long publishToHandleP50Micros;
+        public long publishToHandleP90Micros;
+        public long publishToHandleP99Micros;
+        public long publishToHandleMaxMicros;
+
+        @Setup(Level.Iteration)
+        public void reset(){
+            this.publishToHandleP50Micros = 0;
+            this.publishToHandleP90Micros = 0;
+            this.publishToHandleP99Micros = 0;
+            this.publishToHandleMaxMicros = 0;
+        }
+
+        void update(HistogramSnapshot latencies){
+            this.publishToHandleP50Micros = latencies.getP50();
+            this.publishToHandleP90Micros = latencies.getP90();
+            this.publishToHandleP99Micros = latencies.getP99();
+            this.publishToHandleMaxMicros = latencies.getMax();
+        }
+    }
+
+    /**
+     * Message handler that burns a fixed amount of CPU per message and counts the handled messages down on the
+     * latch of the current operation. Messages stamped with their publish time have the time since recorded in the
+     * latency histogram, in microseconds
+     */
+    public static class CountingMessageHandler implements MessageHandler {
+
+        private final long cpuTokens;
+        private volatile CountDownLatch completion = new CountDownLatch(0);
+        private volatile LatencyHistogram latencies = new LatencyHistogram();
+
+        public CountingMessageHandler(long cpuTokens){
+            this.cpuTokens = cpuTokens;
+        }
+
+        public CountDownLatch expect(int messageCount){
+            this.completion = new CountDownLatch(messageCount);
+            return this.completion;
+        }
+
+        public void resetLatencies(){
+            this.latencies = new LatencyHistogram();
+        }
+
+        public HistogramSnapshot getLatencies(){
+            return this.latencies.getSnapshot();
+        }
+
+        @Override
+        public void handleMessage(Message msg) {
+            long publishNanos = ((SimpleMessage) msg).getPayloadBuffer().getLong(0);
+            if(publishNanos != 0){
+                this.latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - publishNanos));
+            }
+            if(this.cpuTokens > 0){
+                Blackhole.consumeCPU(this.cpuTokens);
+            }
+            this.completion.countDown();
+        }
+
+        @Override
+        public Optional<MessageHandler> getNewInstance() {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.benchmarks;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.japi.pf.ReceiveBuilder;
+import io.github.handy.messaging.core.consumer.dispatcher.MessageChannelDispatcherActor;
+import io.github.handy.messaging.interfaces.Message;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Actor that stands in for the subscriber actor of a channel. It hands batches to the dispatcher actor and completes
+ * the future of the batch once the dispatcher reports that every message of the batch has been processed
+ */
+public class DispatchProbeActor extends AbstractActor {
+
+    /**
+     * Message to request the dispatch of a batch of messages
+     */
+    public static final class Dispatch {
+        List<Message> messages;
+        CompletableFuture<Void> completion;
+
+        public Dispatch(List<Message> messages, CompletableFuture<Void> completion){
+            this.messages = messages;
+            this.completion = completion;
+        }
+    }
+
+    private ActorRef dispatcherActor;
+    private CompletableFuture<Void> completion;
+
+    public DispatchProbeActor(ActorRef dispatcherActor){
+        this.dispatcherActor = dispatcherActor;
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        super.preStart();
+        this.dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(this.self()), this.self());
+    }
+
+    @Override
+    public Receive createReceive() {
+        return new ReceiveBuilder().match(MessageChannelDispatcherActor.SubscriberRegistered.class, args -> {
+        }).match(Dispatch.class, args -> {
+            this.completion = args.completion;
+            this.dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(UUID.randomUUID(), args.messages),
+                    this.self());
+        }).match(MessageChannelDispatcherActor.DispatchCompleted.class, args -> {
+            this.completion.complete(null);
+        }).build();
+    }
+
+    public static Props getActorProperties(ActorRef dispatcherActor){
+        return Props.create(DispatchProbeActor.class, dispatcherActor);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.benchmarks;
+
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.MessageFactories;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the deserialization throughput of a message created reflectively for every record, as consumers did
+ * before, with one created by the factory resolved once from the MessageFactories registry
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageDeserializationBenchmark {
+
+    @Param({"64", "4096"})
+    public int payloadSize;
+
+    private String messageTypeClass;
+    private Supplier<? extends Message> messageFactory;
+    private byte[] serializedMessage;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        SimpleMessage message = new SimpleMessage()
+                .setMessageId("message-1")
+                .setSender("benchmark")
+                .setContentSchema("benchmark")
+                .setTransactionGroupId("group-1")
+                .setPayload(new byte[payloadSize]);
+        message.buildMessage();
+        this.serializedMessage = message.serialize();
+        this.messageTypeClass = SimpleMessage.class.getName();
+        this.messageFactory = MessageFactories.getFactory(this.messageTypeClass);
+    }
+
+    @Benchmark
+    public Message reflectiveDeserialization() throws Exception {
+        Class<?> messageType = Class.forName(this.messageTypeClass);
+        Message message = (Message) messageType.getConstructor().newInstance();
+        message.deserialize(this.serializedMessage);
+        return message;
+    }
+
+    @Benchmark
+    public Message factoryDeserialization(){
+        Message message = this.messageFactory.get();
+        message.deserialize(this.serializedMessage);
+        return message;
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.benchmarks;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.ConsumerProperties;
+import io.github.handy.messaging.core.configuration.Profile;
+import io.github.handy.messaging.core.consumer.dispatcher.MessageChannelDispatcherActor;
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.MessageHandler;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time taken by the dispatcher actor of a channel to run a batch of messages through its worker actors.
+ * With no handler latency the handler does no work, so the score is dominated by the per-message overhead of the
+ * worker pool mode. With handler latency the handler blocks for that long, which shows how far each mode lets
+ * blocking handlers run concurrently
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkerDispatchBenchmark {
+
+    @Param({"per-message", "pooled", "virtual-thread"})
+    public String workerPoolMode;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    @Param({"0", "5"})
+    public long handlerLatencyMillis;
+
+    private ActorSystem actorSystem;
+    private ActorRef probeActor;
+    private List<Message> messages;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, batchSize);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 1000);
+            put(ConfigurationConstants.Consumer.WORKER_POOL_MODE, workerPoolMode);
+        }});
+        Profile profile = new Profile.ProfileBuilder()
+                .setProfileName("benchmark")
+                .setSystem("memcell-mq")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile();
+        this.actorSystem = ActorSystem.create("benchmark");
+        ActorRef dispatcherActor = this.actorSystem.actorOf(MessageChannelDispatcherActor.getActorProperties("CHANNEL-BENCHMARK",
+                new BlockingMessageHandler(handlerLatencyMillis),
+                ConsumerChannelSettings.fromProfile(profile)));
+        this.probeActor = this.actorSystem.actorOf(DispatchProbeActor.getActorProperties(dispatcherActor));
+        this.messages = new ArrayList<>();
+        for(int idx = 0; idx < batchSize; idx++){
+            SimpleMessage message = new SimpleMessage()
+                    .setMessageId(String.format("message-%s", idx))
+                    .setSender("benchmark")
+                    .setContentSchema("benchmark")
+                    .setPayload(new byte[64]);
+            message.buildMessage();
+            this.messages.add(message);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        this.actorSystem.terminate();
+        this.actorSystem.getWhenTerminated().toCompletableFuture().get(30, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void dispatchBatch() throws Exception {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        this.probeActor.tell(new DispatchProbeActor.Dispatch(this.messages, completion), ActorRef.noSender());
+        completion.get(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Message handler that blocks for a fixed duration per message, standing in for a handler waiting on I/O
+     */
+    public static class BlockingMessageHandler implements MessageHandler {
+
+        private final long latencyMillis;
+
+        public BlockingMessageHandler(long latencyMillis){
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public void handleMessage(Message msg) {
+            if(this.latencyMillis > 0){
+                try {
+                    Thread.sleep(this.latencyMillis);
+                } catch (InterruptedException ex){
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public Optional<MessageHandler> getNewInstance() {
+            return Optional.empty();
+        }
+    }
+}
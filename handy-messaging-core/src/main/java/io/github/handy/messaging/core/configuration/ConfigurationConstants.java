@@ -31,5 +31,35 @@ public class ConfigurationConstants {
     public static class Consumer{
         public static final String MAX_MSG_PER_BATCH = "max.messages.per.batch";
         public static final String MAX_POLL_INTERVAL_MS = "max.poll.duration.millis";
+        public static final String WORKER_POOL_MODE = "worker.pool.mode";
+        public static final String WORKER_POOL_SIZE = "worker.pool.size";
+        public static final String WORKER_POOL_MAX_SIZE = "worker.pool.max.size";
+        public static final String PREFETCH_DEPTH = "prefetch.depth";
+        public static final String DISPATCH_MODE = "dispatch.mode";
+        public static final String MAX_IN_FLIGHT = "max.in.flight";
+        public static final String TRANSACTION_GROUP_LANES = "transaction.group.lanes";
+        public static final String DISPATCH_LIMIT = "dispatch.limit";
+        public static final String ADAPTIVE_BATCH_ENABLED = "adaptive.batch.enabled";
+        public static final String ADAPTIVE_BATCH_TARGET_LATENCY_MS = "adaptive.batch.target.latency.millis";
+        public static final String ADAPTIVE_BATCH_MIN_SIZE = "adaptive.batch.min.size";
+        public static final String ADAPTIVE_BATCH_MAX_SIZE = "adaptive.batch.max.size";
+        public static final String BUFFER_CAPACITY = "buffer.capacity";
+        public static final String FLOW_CONTROL_HIGH_WATERMARK = "flow.control.high.watermark";
+        public static final String FLOW_CONTROL_LOW_WATERMARK = "flow.control.low.watermark";
+        public static final String ASYNC_MAX_OUTSTANDING = "async.max.outstanding";
+        public static final String VIRTUAL_THREAD_MAX_CONCURRENCY = "virtual.thread.max.concurrency";
+        public static final String WORKER_DISPATCHER_EXECUTOR = "worker.dispatcher.executor";
+        public static final String WORKER_DISPATCHER_POOL_SIZE = "worker.dispatcher.pool.size";
+        public static final String WORKER_DISPATCHER_THROUGHPUT = "worker.dispatcher.throughput";
+        public static final String DESERIALIZATION_MODE = "deserialization.mode";
+        public static final String ORDERING_MODE = "ordering.mode";
+        public static final String DECOMPRESSION_ENABLED = "decompression.enabled";
+        public static final String DECOMPRESSION_MAX_SIZE = "decompression.max.size.bytes";
+    }
+
+    public static class Producer{
+        public static final String COMPRESSION_CODEC = "compression.codec";
+        public static final String COMPRESSION_MIN_SIZE = "compression.min.size.bytes";
+        public static final String MAX_IN_FLIGHT = "max.in.flight";
     }
 }
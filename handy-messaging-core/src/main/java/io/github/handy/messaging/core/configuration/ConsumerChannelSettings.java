@@ -0,0 +1,466 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.configuration;
+
+import io.github.handy.messaging.interfaces.PayloadCodecs;
+
+import java.util.Map;
+
+/**
+ * Class holding the settings of a consumer channel. The settings are read from the consumer properties of a profile
+ */
+public class ConsumerChannelSettings {
+
+    public static final int DEFAULT_WORKER_POOL_SIZE = 3;
+    public static final long DEFAULT_ADAPTIVE_BATCH_TARGET_LATENCY_MS = 1000;
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+    public static final int DEFAULT_WORKER_DISPATCHER_POOL_SIZE = 3;
+    public static final int DEFAULT_WORKER_DISPATCHER_THROUGHPUT = 1;
+
+    private int maxMessagesPerBatch;
+    private long maxPollIntervalMillis;
+    private WorkerPoolMode workerPoolMode;
+    private int workerPoolSize;
+    private int workerPoolMaxSize;
+    private int prefetchDepth;
+    private DispatchMode dispatchMode;
+    private int maxInFlight;
+    private int transactionGroupLanes;
+    private int dispatchLimit;
+    private boolean adaptiveBatchEnabled;
+    private long adaptiveBatchTargetLatencyMillis;
+    private int adaptiveBatchMinSize;
+    private int adaptiveBatchMaxSize;
+    private int bufferCapacity;
+    private int flowControlHighWatermark;
+    private int flowControlLowWatermark;
+    private int asyncMaxOutstanding;
+    private int virtualThreadMaxConcurrency;
+    private boolean isolatedWorkerDispatcher;
+    private WorkerDispatcherExecutor workerDispatcherExecutor;
+    private int workerDispatcherPoolSize;
+    private int workerDispatcherThroughput;
+    private DeserializationMode deserializationMode;
+    private OrderingMode orderingMode;
+    private boolean decompressionEnabled;
+    private int decompressionMaxSize;
+
+    private ConsumerChannelSettings(){}
+
+    /**
+     * Reads the channel settings from the consumer properties of a profile
+     * @param profile Profile object
+     * @return ConsumerChannelSettings object
+     */
+    public static ConsumerChannelSettings fromProfile(Profile profile){
+        Map<String, Object> props = profile.getConsumerProperties().getProps();
+        ConsumerChannelSettings settings = new ConsumerChannelSettings();
+        settings.maxMessagesPerBatch = Integer.parseInt(props.get(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH).toString());
+        settings.maxPollIntervalMillis = Long.parseLong(props.get(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS).toString());
+        settings.workerPoolMode = WorkerPoolMode.fromConfigValue(props.getOrDefault(ConfigurationConstants.Consumer.WORKER_POOL_MODE,
+                WorkerPoolMode.PER_MESSAGE.getConfigValue()).toString());
+        settings.workerPoolSize = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.WORKER_POOL_SIZE,
+                DEFAULT_WORKER_POOL_SIZE).toString());
+        settings.workerPoolMaxSize = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.WORKER_POOL_MAX_SIZE,
+                settings.workerPoolSize).toString());
+        settings.prefetchDepth = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.PREFETCH_DEPTH,
+                0).toString());
+        if(settings.prefetchDepth < 0){
+            throw new RuntimeException(String.format("Invalid prefetch depth %s for profile %s",
+                    settings.prefetchDepth,
+                    profile.getProfileName()));
+        }
+        settings.dispatchMode = DispatchMode.fromConfigValue(props.getOrDefault(ConfigurationConstants.Consumer.DISPATCH_MODE,
+                DispatchMode.BATCH.getConfigValue()).toString());
+        settings.maxInFlight = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.MAX_IN_FLIGHT,
+                settings.maxMessagesPerBatch).toString());
+        if(settings.maxInFlight < 1){
+            throw new RuntimeException(String.format("Invalid max in-flight messages %s for profile %s",
+                    settings.maxInFlight,
+                    profile.getProfileName()));
+        }
+        settings.transactionGroupLanes = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.TRANSACTION_GROUP_LANES,
+                0).toString());
+        if(settings.transactionGroupLanes < 0){
+            throw new RuntimeException(String.format("Invalid transaction group lane count %s for profile %s",
+                    settings.transactionGroupLanes,
+                    profile.getProfileName()));
+        }
+        settings.dispatchLimit = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.DISPATCH_LIMIT,
+                settings.maxMessagesPerBatch).toString());
+        settings.adaptiveBatchEnabled = Boolean.parseBoolean(props.getOrDefault(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_ENABLED,
+                false).toString());
+        settings.adaptiveBatchTargetLatencyMillis = Long.parseLong(props.getOrDefault(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_TARGET_LATENCY_MS,
+                DEFAULT_ADAPTIVE_BATCH_TARGET_LATENCY_MS).toString());
+        settings.adaptiveBatchMinSize = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_MIN_SIZE,
+                1).toString());
+        settings.adaptiveBatchMaxSize = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_MAX_SIZE,
+                settings.maxMessagesPerBatch).toString());
+        if(settings.dispatchLimit < 1){
+            throw new RuntimeException(String.format("Invalid dispatch limit %s for profile %s",
+                    settings.dispatchLimit,
+                    profile.getProfileName()));
+        }
+        if(settings.adaptiveBatchMinSize < 1 || settings.adaptiveBatchMaxSize < settings.adaptiveBatchMinSize){
+            throw new RuntimeException(String.format("Invalid adaptive batch size (%s, %s) for profile %s",
+                    settings.adaptiveBatchMinSize,
+                    settings.adaptiveBatchMaxSize,
+                    profile.getProfileName()));
+        }
+        // The adaptive batch size is fed from the completion of whole batches, which the continuous dispatch mode does not have
+        if(settings.adaptiveBatchEnabled && settings.dispatchMode == DispatchMode.CONTINUOUS){
+            throw new RuntimeException(String.format("Adaptive batch size is not supported in the continuous dispatch mode (profile %s)",
+                    profile.getProfileName()));
+        }
+        settings.bufferCapacity = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.BUFFER_CAPACITY,
+                Math.max(DEFAULT_BUFFER_CAPACITY, settings.maxMessagesPerBatch + settings.getPrefetchCapacity())).toString());
+        if(settings.bufferCapacity < settings.maxMessagesPerBatch){
+            throw new RuntimeException(String.format("Buffer capacity %s of profile %s is less than the maximum messages per batch",
+                    settings.bufferCapacity,
+                    profile.getProfileName()));
+        }
+        // Connectors only stop fetching once paused, so the buffer keeps room above the high watermark for the batch they have already fetched
+        settings.flowControlHighWatermark = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.FLOW_CONTROL_HIGH_WATERMARK,
+                settings.bufferCapacity - settings.maxMessagesPerBatch).toString());
+        settings.flowControlLowWatermark = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.FLOW_CONTROL_LOW_WATERMARK,
+                settings.flowControlHighWatermark / 2).toString());
+        if(settings.flowControlHighWatermark < 1 || settings.flowControlLowWatermark < 0
+                || settings.flowControlLowWatermark >= settings.flowControlHighWatermark
+                || settings.flowControlHighWatermark > settings.bufferCapacity - settings.maxMessagesPerBatch){
+            throw new RuntimeException(String.format("Invalid flow control watermarks (%s, %s) for buffer capacity %s and maximum messages per batch %s of profile %s",
+                    settings.flowControlHighWatermark,
+                    settings.flowControlLowWatermark,
+                    settings.bufferCapacity,
+                    settings.maxMessagesPerBatch,
+                    profile.getProfileName()));
+        }
+        settings.asyncMaxOutstanding = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.ASYNC_MAX_OUTSTANDING,
+                settings.maxInFlight).toString());
+        if(settings.asyncMaxOutstanding < 1){
+            throw new RuntimeException(String.format("Invalid max outstanding async tasks %s for profile %s",
+                    settings.asyncMaxOutstanding,
+                    profile.getProfileName()));
+        }
+        settings.virtualThreadMaxConcurrency = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.VIRTUAL_THREAD_MAX_CONCURRENCY,
+                settings.maxInFlight).toString());
+        if(settings.virtualThreadMaxConcurrency < 1){
+            throw new RuntimeException(String.format("Invalid virtual thread concurrency %s for profile %s",
+                    settings.virtualThreadMaxConcurrency,
+                    profile.getProfileName()));
+        }
+        settings.isolatedWorkerDispatcher = props.containsKey(ConfigurationConstants.Consumer.WORKER_DISPATCHER_EXECUTOR)
+                || props.containsKey(ConfigurationConstants.Consumer.WORKER_DISPATCHER_POOL_SIZE)
+                || props.containsKey(ConfigurationConstants.Consumer.WORKER_DISPATCHER_THROUGHPUT);
+        settings.workerDispatcherExecutor = WorkerDispatcherExecutor.fromConfigValue(props.getOrDefault(ConfigurationConstants.Consumer.WORKER_DISPATCHER_EXECUTOR,
+                WorkerDispatcherExecutor.THREAD_POOL.getConfigValue()).toString());
+        settings.workerDispatcherPoolSize = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.WORKER_DISPATCHER_POOL_SIZE,
+                DEFAULT_WORKER_DISPATCHER_POOL_SIZE).toString());
+        settings.workerDispatcherThroughput = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.WORKER_DISPATCHER_THROUGHPUT,
+                DEFAULT_WORKER_DISPATCHER_THROUGHPUT).toString());
+        if(settings.workerDispatcherPoolSize < 1 || settings.workerDispatcherThroughput < 1){
+            throw new RuntimeException(String.format("Invalid worker dispatcher settings (%s, %s) for profile %s",
+                    settings.workerDispatcherPoolSize,
+                    settings.workerDispatcherThroughput,
+                    profile.getProfileName()));
+        }
+        settings.deserializationMode = DeserializationMode.fromConfigValue(props.getOrDefault(ConfigurationConstants.Consumer.DESERIALIZATION_MODE,
+                DeserializationMode.EAGER.getConfigValue()).toString());
+        settings.orderingMode = OrderingMode.fromConfigValue(props.getOrDefault(ConfigurationConstants.Consumer.ORDERING_MODE,
+                OrderingMode.TRANSACTION_GROUP.getConfigValue()).toString());
+        settings.decompressionEnabled = Boolean.parseBoolean(props.getOrDefault(ConfigurationConstants.Consumer.DECOMPRESSION_ENABLED,
+                false).toString());
+        settings.decompressionMaxSize = Integer.parseInt(props.getOrDefault(ConfigurationConstants.Consumer.DECOMPRESSION_MAX_SIZE,
+                PayloadCodecs.DEFAULT_MAX_DECOMPRESSED_SIZE).toString());
+        if(settings.decompressionMaxSize < 1){
+            throw new RuntimeException(String.format("Invalid maximum decompressed size %s for profile %s",
+                    settings.decompressionMaxSize,
+                    profile.getProfileName()));
+        }
+        if(settings.workerPoolSize < 1 || settings.workerPoolMaxSize < settings.workerPoolSize){
+            throw new RuntimeException(String.format("Invalid worker pool size (%s, %s) for profile %s",
+                    settings.workerPoolSize,
+                    settings.workerPoolMaxSize,
+                    profile.getProfileName()));
+        }
+        return settings;
+    }
+
+    /**
+     * Gets the maximum number of messages buffered before the buffer is flushed
+     * @return Maximum messages per batch
+     */
+    public int getMaxMessagesPerBatch() {
+        return maxMessagesPerBatch;
+    }
+
+    /**
+     * Gets the maximum duration of a poll session
+     * @return Maximum poll interval in milliseconds
+     */
+    public long getMaxPollIntervalMillis() {
+        return maxPollIntervalMillis;
+    }
+
+    /**
+     * Gets the mode in which the worker actors of the channel are run
+     * @return WorkerPoolMode
+     */
+    public WorkerPoolMode getWorkerPoolMode() {
+        return workerPoolMode;
+    }
+
+    /**
+     * Gets the number of long-lived workers in the pool. Applies to the pooled mode only
+     * @return Worker pool size
+     */
+    public int getWorkerPoolSize() {
+        return workerPoolSize;
+    }
+
+    /**
+     * Gets the upper bound the worker pool can grow to under load. The pool is fixed in size when this
+     * is equal to the worker pool size. Applies to the pooled mode only
+     * @return Maximum worker pool size
+     */
+    public int getWorkerPoolMaxSize() {
+        return workerPoolMaxSize;
+    }
+
+    /**
+     * Gets the number of batches the consumer keeps polling ahead of the dispatcher. Polling stops whenever a batch
+     * is flushed if this is 0
+     * @return Prefetch depth in batches
+     */
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /**
+     * Gets the number of messages the consumer buffers before it stops polling ahead of the dispatcher
+     * @return Prefetch capacity in messages
+     */
+    public int getPrefetchCapacity() {
+        return this.prefetchDepth * this.maxMessagesPerBatch;
+    }
+
+    /**
+     * Gets the mode in which the dispatcher of the channel asks for more messages
+     * @return DispatchMode
+     */
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * Gets the maximum number of messages the dispatcher holds at a time, counting both the messages being processed
+     * and the ones waiting behind a message of the same transaction group. Applies to the continuous mode only
+     * @return Maximum in-flight messages
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Gets the number of ordered lanes the transaction groups of the channel are striped over. Every transaction
+     * group gets a lane of its own if this is 0
+     * @return Transaction group lane count
+     */
+    public int getTransactionGroupLanes() {
+        return transactionGroupLanes;
+    }
+
+    /**
+     * Gets the maximum number of messages handed to the dispatcher in one go. This is where the adaptive batch size
+     * starts from if it is enabled
+     * @return Dispatch limit
+     */
+    public int getDispatchLimit() {
+        return dispatchLimit;
+    }
+
+    /**
+     * Gets the number of messages the channel polls for first. This is the dispatch limit, kept within the bounds of
+     * the adaptive batch size if it is enabled, as the adaptive batch size starts from it
+     * @return Initial dispatch limit
+     */
+    public int getInitialDispatchLimit() {
+        if(!adaptiveBatchEnabled){
+            return dispatchLimit;
+        }
+        return Math.min(adaptiveBatchMaxSize, Math.max(adaptiveBatchMinSize, dispatchLimit));
+    }
+
+    /**
+     * Checks if the dispatch limit is adapted to the observed processing latency of the channel. Only available in the
+     * batch dispatch mode
+     * @return True if the adaptive batch size is enabled
+     */
+    public boolean isAdaptiveBatchEnabled() {
+        return adaptiveBatchEnabled;
+    }
+
+    /**
+     * Gets the time the channel should take to process a batch. The adaptive batch size grows while batches are
+     * processed within this time and shrinks when they are not
+     * @return Target batch latency in milliseconds
+     */
+    public long getAdaptiveBatchTargetLatencyMillis() {
+        return adaptiveBatchTargetLatencyMillis;
+    }
+
+    /**
+     * Gets the lower bound of the adaptive batch size
+     * @return Minimum adaptive batch size
+     */
+    public int getAdaptiveBatchMinSize() {
+        return adaptiveBatchMinSize;
+    }
+
+    /**
+     * Gets the upper bound of the adaptive batch size
+     * @return Maximum adaptive batch size
+     */
+    public int getAdaptiveBatchMaxSize() {
+        return adaptiveBatchMaxSize;
+    }
+
+    /**
+     * Gets the number of messages the consumer can buffer. The connector is held back once it has handed over as many
+     * messages as the buffer can hold
+     * @return Buffer capacity
+     */
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Gets the number of messages handed over by the connector and not yet dispatched, at which the connector is
+     * paused
+     * @return Flow control high watermark
+     */
+    public int getFlowControlHighWatermark() {
+        return flowControlHighWatermark;
+    }
+
+    /**
+     * Gets the number of messages handed over by the connector and not yet dispatched, at which a paused connector
+     * is resumed
+     * @return Flow control low watermark
+     */
+    public int getFlowControlLowWatermark() {
+        return flowControlLowWatermark;
+    }
+
+    /**
+     * Gets the maximum number of tasks an asynchronous message handler of the channel may have outstanding at a time
+     * @return Maximum outstanding asynchronous tasks
+     */
+    public int getAsyncMaxOutstanding() {
+        return asyncMaxOutstanding;
+    }
+
+    /**
+     * Gets the maximum number of tasks of the channel running on virtual threads at a time. Applies to the
+     * virtual thread mode only
+     * @return Maximum concurrent virtual thread tasks
+     */
+    public int getVirtualThreadMaxConcurrency() {
+        return virtualThreadMaxConcurrency;
+    }
+
+    /**
+     * Checks if the worker actors of the channel run on a dispatcher of their own, instead of the worker-dispatcher
+     * shared by all the channels
+     * @return True if the channel has an isolated worker dispatcher
+     */
+    public boolean isIsolatedWorkerDispatcher() {
+        return isolatedWorkerDispatcher;
+    }
+
+    /**
+     * Gets the executor backing the isolated worker dispatcher of the channel
+     * @return WorkerDispatcherExecutor
+     */
+    public WorkerDispatcherExecutor getWorkerDispatcherExecutor() {
+        return workerDispatcherExecutor;
+    }
+
+    /**
+     * Gets the number of threads of the isolated worker dispatcher of the channel
+     * @return Worker dispatcher pool size
+     */
+    public int getWorkerDispatcherPoolSize() {
+        return workerDispatcherPoolSize;
+    }
+
+    /**
+     * Gets the number of messages a worker actor processes before its thread is handed to another actor
+     * @return Worker dispatcher throughput
+     */
+    public int getWorkerDispatcherThroughput() {
+        return workerDispatcherThroughput;
+    }
+
+    /**
+     * Gets where the messages of the channel are deserialized
+     * @return DeserializationMode
+     */
+    public DeserializationMode getDeserializationMode() {
+        return deserializationMode;
+    }
+
+    /**
+     * Gets how the messages of the channel are ordered
+     * @return OrderingMode
+     */
+    public OrderingMode getOrderingMode() {
+        return orderingMode;
+    }
+
+    /**
+     * Checks if messages compressed by a payload codec are decompressed. The consumer only looks for the header of a
+     * compressed message when enabled
+     * @return True if compressed messages are decompressed
+     */
+    public boolean isDecompressionEnabled() {
+        return decompressionEnabled;
+    }
+
+    /**
+     * Gets the maximum size a compressed message may decompress to
+     * @return Maximum decompressed size in bytes
+     */
+    public int getDecompressionMaxSize() {
+        return decompressionMaxSize;
+    }
+
+    /**
+     * Checks if the worker pool is allowed to grow and shrink with load
+     * @return True if the worker pool is elastic
+     */
+    public boolean isElasticWorkerPool(){
+        return this.workerPoolMaxSize > this.workerPoolSize;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.configuration;
+
+import java.util.Arrays;
+
+/**
+ * Enum representing where the messages of a consumer channel are deserialized
+ */
+public enum DeserializationMode {
+
+    /**
+     * Messages are deserialized by the connector as soon as they are received
+     */
+    EAGER("eager"),
+
+    /**
+     * Messages travel through the channel as raw bytes and are deserialized by the worker that handles them
+     */
+    LAZY("lazy");
+
+    private final String configValue;
+
+    DeserializationMode(String configValue){
+        this.configValue = configValue;
+    }
+
+    /**
+     * Gets the value used to select the mode in the consumer properties
+     * @return Configuration value of the mode
+     */
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    /**
+     * Resolves the mode from its configuration value
+     * @param configValue Configuration value of the mode
+     * @return DeserializationMode
+     */
+    public static DeserializationMode fromConfigValue(String configValue){
+        return Arrays.stream(DeserializationMode.values())
+                .filter(mode -> mode.configValue.equalsIgnoreCase(configValue))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException(String.format("Unknown deserialization mode %s", configValue)));
+    }
+}
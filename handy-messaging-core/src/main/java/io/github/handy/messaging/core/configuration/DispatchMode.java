@@ -0,0 +1,69 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.configuration;
+
+import java.util.Arrays;
+
+/**
+ * Enum representing how the dispatcher of a consumer channel asks for more messages
+ */
+public enum DispatchMode {
+
+    /**
+     * More messages are requested only after every message of the previous batch has been processed
+     */
+    BATCH("batch"),
+
+    /**
+     * More messages are requested as soon as a slot in the in-flight window of the channel frees up
+     */
+    CONTINUOUS("continuous");
+
+    private final String configValue;
+
+    DispatchMode(String configValue){
+        this.configValue = configValue;
+    }
+
+    /**
+     * Gets the value used to select the mode in the consumer properties
+     * @return Configuration value of the mode
+     */
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    /**
+     * Resolves the mode from its configuration value
+     * @param configValue Configuration value of the mode
+     * @return DispatchMode
+     */
+    public static DispatchMode fromConfigValue(String configValue){
+        return Arrays.stream(DispatchMode.values())
+                .filter(mode -> mode.configValue.equalsIgnoreCase(configValue))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException(String.format("Unknown dispatch mode %s", configValue)));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.configuration;
+
+import java.util.Arrays;
+
+/**
+ * Enum representing the executor backing the isolated worker dispatcher of a consumer channel
+ */
+public enum WorkerDispatcherExecutor {
+
+    /**
+     * A fixed pool of threads. Suits handlers blocking on I/O
+     */
+    THREAD_POOL("thread-pool", "thread-pool-executor"),
+
+    /**
+     * A work-stealing fork-join pool. Suits CPU-bound handlers
+     */
+    FORK_JOIN("fork-join", "fork-join-executor");
+
+    private final String configValue;
+    private final String akkaExecutor;
+
+    WorkerDispatcherExecutor(String configValue, String akkaExecutor){
+        this.configValue = configValue;
+        this.akkaExecutor = akkaExecutor;
+    }
+
+    /**
+     * Gets the value used to select the executor in the consumer properties
+     * @return Configuration value of the executor
+     */
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    /**
+     * Gets the name of the executor in the Akka dispatcher configuration
+     * @return Akka executor name
+     */
+    public String getAkkaExecutor() {
+        return akkaExecutor;
+    }
+
+    /**
+     * Resolves the executor from its configuration value
+     * @param configValue Configuration value of the executor
+     * @return WorkerDispatcherExecutor
+     */
+    public static WorkerDispatcherExecutor fromConfigValue(String configValue){
+        return Arrays.stream(WorkerDispatcherExecutor.values())
+                .filter(executor -> executor.configValue.equalsIgnoreCase(configValue))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException(String.format("Unknown worker dispatcher executor %s", configValue)));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.configuration;
+
+import java.util.Arrays;
+
+/**
+ * Enum representing how a consumer channel runs its worker actors
+ */
+public enum WorkerPoolMode {
+
+    /**
+     * A new worker actor is created for every message and stopped once the message is processed
+     */
+    PER_MESSAGE("per-message"),
+
+    /**
+     * A set of long-lived worker actors is created once per channel and reused for every message
+     */
+    POOLED("pooled"),
+
+    /**
+     * Every message is processed on a virtual thread of its own, so that blocking handlers do not need a sized
+     * thread pool. Falls back to a cached pool of platform threads on JVMs without virtual threads
+     */
+    VIRTUAL_THREAD("virtual-thread");
+
+    private final String configValue;
+
+    WorkerPoolMode(String configValue){
+        this.configValue = configValue;
+    }
+
+    /**
+     * Gets the value used to select the mode in the consumer properties
+     * @return Configuration value of the mode
+     */
+    public String getConfigValue() {
+        return configValue;
+    }
+
+    /**
+     * Resolves the mode from its configuration value
+     * @param configValue Configuration value of the mode
+     * @return WorkerPoolMode
+     */
+    public static WorkerPoolMode fromConfigValue(String configValue){
+        return Arrays.stream(WorkerPoolMode.values())
+                .filter(mode -> mode.configValue.equalsIgnoreCase(configValue))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException(String.format("Unknown worker pool mode %s", configValue)));
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AdaptiveBatchController sizes the batches of a channel from the observed time taken to process them. The batch size
+ * is grown additively while batches are processed within the target latency and actually fill up, and is halved
+ * as soon as the smoothed batch latency goes over the target.
+ */
+public class AdaptiveBatchController {
+
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.3;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final int INCREASE_STEPS = 20;
+
+    private int minBatchSize;
+    private int maxBatchSize;
+    private int increaseStep;
+    private long targetLatencyNanos;
+    private int batchSize;
+    private double smoothedLatencyNanos;
+    private double throughput;
+
+    /**
+     * Constructor for AdaptiveBatchController
+     * @param initialBatchSize Batch size to start with
+     * @param minBatchSize Lower bound of the batch size
+     * @param maxBatchSize Upper bound of the batch size
+     * @param targetLatencyMillis Time the channel should take to process a batch
+     */
+    public AdaptiveBatchController(int initialBatchSize, int minBatchSize, int maxBatchSize, long targetLatencyMillis){
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.increaseStep = Math.max(1, maxBatchSize / INCREASE_STEPS);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.batchSize = Math.min(maxBatchSize, Math.max(minBatchSize, initialBatchSize));
+        this.smoothedLatencyNanos = -1;
+    }
+
+    /**
+     * Records a processed batch and adjusts the batch size
+     * @param processedMessages Number of messages in the batch
+     * @param latencyNanos Time taken to process the batch in nanoseconds
+     * @return Batch size to use for the next batch
+     */
+    public int onBatchCompleted(int processedMessages, long latencyNanos){
+        this.smoothedLatencyNanos = (this.smoothedLatencyNanos < 0) ? latencyNanos :
+                LATENCY_SMOOTHING_FACTOR * latencyNanos + (1 - LATENCY_SMOOTHING_FACTOR) * this.smoothedLatencyNanos;
+        this.throughput = (latencyNanos > 0) ? processedMessages * (double) TimeUnit.SECONDS.toNanos(1) / latencyNanos : 0;
+        if(this.smoothedLatencyNanos > this.targetLatencyNanos){
+            this.batchSize = Math.max(this.minBatchSize, (int) (this.batchSize * DECREASE_FACTOR));
+        } else if(processedMessages >= this.batchSize){
+            this.batchSize = Math.min(this.maxBatchSize, this.batchSize + this.increaseStep);
+        }
+        return this.batchSize;
+    }
+
+    /**
+     * Gets the batch size to use for the next batch
+     * @return Batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the throughput of the last processed batch
+     * @return Throughput in messages per second
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+}
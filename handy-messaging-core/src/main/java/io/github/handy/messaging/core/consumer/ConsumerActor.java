@@ -24,26 +24,39 @@
 
 package io.github.handy.messaging.core.consumer;
 
-import akka.actor.AbstractActor;
+import akka.actor.AbstractActorWithTimers;
 import akka.actor.ActorRef;
-import akka.actor.PoisonPill;
 import akka.actor.Props;
 import akka.japi.pf.ReceiveBuilder;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.DeserializationMode;
+import io.github.handy.messaging.core.configuration.OrderingMode;
 import io.github.handy.messaging.core.configuration.Profile;
+import io.github.handy.messaging.core.consumer.dispatcher.MessageChannelDispatcherActor;
+import io.github.handy.messaging.core.metrics.ChannelMetrics;
+import io.github.handy.messaging.core.metrics.Metrics;
 import io.github.handy.messaging.interfaces.Consumer;
 import io.github.handy.messaging.interfaces.EnqueueMessage;
+import io.github.handy.messaging.interfaces.EnqueueMessages;
+import io.github.handy.messaging.interfaces.FlowController;
 import io.github.handy.messaging.interfaces.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Actor class to consume messages from the message queue
+ * Actor class to consume messages from the message queue. If the channel is configured with a prefetch depth, the
+ * consumer keeps polling into its buffer while the previously flushed batches are being dispatched, and only stops
+ * polling once the buffer holds the configured number of batches. The deadline of a poll session is kept with an
+ * actor timer, so a pending deadline does not hold a thread or an actor of its own. The consumer is paused through its
+ * flow controller while the messages handed over by it and not yet dispatched are above the high watermark
  */
-public class ConsumerActor extends AbstractActor {
+public class ConsumerActor extends AbstractActorWithTimers {
+
+    private static final String POLL_DEADLINE_TIMER = "POLL-DEADLINE";
 
     /**
      * Message to poll data from the message queue
@@ -59,7 +72,7 @@ public class ConsumerActor extends AbstractActor {
     ;
 
     /**
-     * Message to interrupt polling. Sent by the ConsumerInterruptActor
+     * Message to interrupt polling. Sent by the poll deadline timer when a poll session runs out of time
      */
     final static class InterruptPolling {
         UUID sessionId;
@@ -116,10 +129,16 @@ public class ConsumerActor extends AbstractActor {
     final static class DataAvailable {
         List<Message> messageCollection;
         UUID sessionId;
+        long pollStartNanos;
 
         public DataAvailable(UUID sessionId, List<Message> messageCollection) {
+            this(sessionId, messageCollection, System.nanoTime());
+        }
+
+        public DataAvailable(UUID sessionId, List<Message> messageCollection, long pollStartNanos) {
             this.messageCollection = messageCollection;
             this.sessionId = sessionId;
+            this.pollStartNanos = pollStartNanos;
         }
     }
 
@@ -135,13 +154,51 @@ public class ConsumerActor extends AbstractActor {
     final static class SubscriptionAck {
     }
 
+    /**
+     * Message to request the statistics of the message buffer. Answered with a BufferStats message
+     */
+    public final static class GetBufferStats {
+    }
+
+    /**
+     * Message carrying the statistics of the message buffer
+     */
+    public final static class BufferStats {
+        int bufferedMessages;
+        int capacity;
+        int highWaterMark;
+
+        public BufferStats(int bufferedMessages, int capacity, int highWaterMark) {
+            this.bufferedMessages = bufferedMessages;
+            this.capacity = capacity;
+            this.highWaterMark = highWaterMark;
+        }
+
+        public int getBufferedMessages() {
+            return bufferedMessages;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getHighWaterMark() {
+            return highWaterMark;
+        }
+    }
+
     private Optional<ActorRef> subscriberActor;
     private Optional<UUID> currentSessionId;
-    private List<Message> messageCollection;
+    private MessageRingBuffer messageCollection;
     private Consumer consumer;
+    private FlowController flowController;
+    private ChannelMetrics channelMetrics;
+    private long pollStartNanos;
     private int maxMessagesPerBatch;
     private int dispatchLimit;
     private long maxPollIntervalMillis;
+    private int prefetchCapacity;
+    private boolean pollingActive;
     private String channelId;
     private Logger LOGGER = LoggerFactory.getLogger(ConsumerActor.class);
     private ActorRef rootActor;
@@ -153,17 +210,16 @@ public class ConsumerActor extends AbstractActor {
      * @param queueName The name of the queue
      * @param messageTypeClass The class of the message type
      * @param channelId The channel ID
-     * @param maxMessagesPerBatch The maximum number of messages to poll in a batch
-     * @param maxPollIntervalMs The maximum poll interval in milliseconds
+     * @param channelSettings The settings of the channel
      */
     public ConsumerActor(Profile profile,
                          ActorRef rootActor,
                          String queueName,
                          String messageTypeClass,
                          String channelId,
-                         int maxMessagesPerBatch,
-                         long maxPollIntervalMs) {
-        this.messageCollection = new ArrayList<>();
+                         ConsumerChannelSettings channelSettings) {
+        this.messageCollection = new MessageRingBuffer(channelSettings.getBufferCapacity());
+        this.subscriberActor = Optional.empty();
         this.rootActor = rootActor;
         this.consumer = new MessageConsumerBuilder()
                 .setProfile(profile)
@@ -171,9 +227,21 @@ public class ConsumerActor extends AbstractActor {
                 .setConsumerActor(this.self())
                 .setMessageTypeClass(messageTypeClass)
                 .build();
+        this.flowController = new FlowController(channelSettings.getFlowControlHighWatermark(),
+                channelSettings.getFlowControlLowWatermark(),
+                channelSettings.getBufferCapacity());
+        this.consumer.setFlowController(this.flowController);
+        this.consumer.setLazyDeserialization(channelSettings.getDeserializationMode() == DeserializationMode.LAZY);
+        this.consumer.setPartitionOrdering(channelSettings.getOrderingMode() == OrderingMode.PARTITION);
+        this.consumer.setPayloadDecompression(channelSettings.isDecompressionEnabled(),
+                channelSettings.getDecompressionMaxSize());
         this.channelId = channelId;
-        this.maxMessagesPerBatch = maxMessagesPerBatch;
-        this.maxPollIntervalMillis = maxPollIntervalMs;
+        this.channelMetrics = Metrics.getRegistry().getChannelMetrics(channelId);
+        this.maxMessagesPerBatch = channelSettings.getMaxMessagesPerBatch();
+        this.maxPollIntervalMillis = channelSettings.getMaxPollIntervalMillis();
+        this.prefetchCapacity = channelSettings.getPrefetchCapacity();
+        this.pollingActive = false;
+        this.currentSessionId = Optional.empty();
         rootActor.tell(new ConsumerInitialized(), self());
     }
 
@@ -182,16 +250,14 @@ public class ConsumerActor extends AbstractActor {
                                            String queueName,
                                            String messageTypeClass,
                                            String channelId,
-                                           int maxMessagePerBatch,
-                                           long maxPollIntervalMs) {
+                                           ConsumerChannelSettings channelSettings) {
         return Props.create(ConsumerActor.class,
                 profile,
                 rootActor,
                 queueName,
                 messageTypeClass,
                 channelId,
-                maxMessagePerBatch,
-                maxPollIntervalMs);
+                channelSettings);
     }
 
     @Override
@@ -200,25 +266,23 @@ public class ConsumerActor extends AbstractActor {
                     LOGGER.info(String.format("CONSUMER-ACTOR %s received poll request from %s", this.self(), this.sender()));
                     LOGGER.info(String.format("Buffered messages now - %s", this.messageCollection.size()));
                     this.currentSessionId = Optional.of(UUID.randomUUID());
+                    this.pollStartNanos = System.nanoTime();
                     this.dispatchLimit = args.msgLimit;
                     if (this.messageCollection.size() < this.dispatchLimit) {
-                        ActorRef interruptionActor = this.context().actorOf(ConsumerInterruptActor
-                                        .getActorProperties(this.currentSessionId.get()),
-                                String.format("INTERRUPTION-ACTOR-%s@%s", this.currentSessionId.get(), this.channelId));
-                        interruptionActor.tell(new ConsumerInterruptActor.StartTimer(this.maxPollIntervalMillis),
-                                this.self());
+                        this.getTimers().startSingleTimer(POLL_DEADLINE_TIMER,
+                                new InterruptPolling(this.currentSessionId.get()),
+                                Duration.ofMillis(this.maxPollIntervalMillis));
                         this.onPollData();
                     } else {
                         LOGGER.info(String.format("%s already had buffered data hence not polling", this.self()));
-                        this.flushBufferedData();
+                        this.flushBufferedData(ChannelMetrics.FlushReason.SIZE);
                     }
                 })
                 .match(InterruptPolling.class, args -> {
-                    this.sender().tell(PoisonPill.getInstance(), this.self());
                     UUID interruptionSessionId = args.sessionId;
                     LOGGER.info(String.format("Buffered messages now - %s", this.messageCollection.size()));
                     if (this.currentSessionId.isPresent() && this.currentSessionId.get().equals(interruptionSessionId)) {
-                        this.flushBufferedData();
+                        this.flushBufferedData(ChannelMetrics.FlushReason.TIMEOUT);
                     } else {
                         LOGGER.info(String.format("Stale interrupt received for session ID %s. Ignoring",
                                 interruptionSessionId.toString()));
@@ -230,6 +294,17 @@ public class ConsumerActor extends AbstractActor {
                 })
                 .match(EnqueueMessage.class, args -> {
                     this.onMessageRecord(args.getMessage());
+                })
+                .match(EnqueueMessages.class, args -> {
+                    this.onMessageRecords(args.getMessages());
+                })
+                .match(MessageChannelDispatcherActor.MessagesProcessed.class, args -> {
+                    this.consumer.onMessagesProcessed(args.getMessages());
+                })
+                .match(GetBufferStats.class, args -> {
+                    this.sender().tell(new BufferStats(this.messageCollection.size(),
+                            this.messageCollection.capacity(),
+                            this.messageCollection.getHighWaterMark()), this.self());
                 }).build();
     }
 
@@ -241,26 +316,60 @@ public class ConsumerActor extends AbstractActor {
     void onMessageRecord(Message message) {
         LOGGER.info(String.format("%s Buffering data", this.self()));
         this.messageCollection.add(message);
-        if (messageCollection.size() >= this.maxMessagesPerBatch) {
-            this.flushBufferedData();
+        this.onBufferUpdated();
+    }
+
+    /**
+     * Handler method for EnqueueMessages message. Buffers all the messages of a poll to the buffer memory at once
+     * @param messages The messages to buffer
+     */
+    void onMessageRecords(List<Message> messages) {
+        LOGGER.info(String.format("%s Buffering %s messages", this.self(), messages.size()));
+        messages.forEach(this.messageCollection::add);
+        this.onBufferUpdated();
+    }
+
+    /**
+     * Flushes the buffer once it holds a batch, and stops polling once the prefetch buffer is full
+     */
+    private void onBufferUpdated() {
+        this.channelMetrics.recordBufferDepth(this.messageCollection.size());
+        if (messageCollection.size() >= Math.min(this.maxMessagesPerBatch, this.dispatchLimit)) {
+            this.flushBufferedData(ChannelMetrics.FlushReason.SIZE);
+        }
+        if (this.currentSessionId.isEmpty() && this.messageCollection.size() >= this.prefetchCapacity) {
+            LOGGER.info(String.format("%s prefetch buffer full with %s messages", this.self(), this.messageCollection.size()));
+            this.stopConsumerPolling();
         }
     }
 
     /**
      * Flush buffered data to the subscriber. Will get invoked when the buffer is full or when the consumer is
      * interrupted following a timeout
+     * @param flushReason The reason for the flush
      */
-    synchronized private void flushBufferedData() {
+    synchronized private void flushBufferedData(ChannelMetrics.FlushReason flushReason) {
         if (currentSessionId.isPresent()) {
-            this.consumer.stopPolling();
             UUID sessionId = this.currentSessionId.get();
             this.currentSessionId = Optional.empty();
+            this.getTimers().cancel(POLL_DEADLINE_TIMER);
             this.subscriberActor.ifPresent(subscriber -> {
                 int dispatchSize = (this.messageCollection.size() > this.dispatchLimit) ? this.dispatchLimit : this.messageCollection.size();
                 LOGGER.info(String.format("%s flushing %s messages to subscriber", this.self(), dispatchSize));
-                List<Message> dispatchMessages = new ArrayList<>(this.messageCollection.subList(0, dispatchSize));
-                this.messageCollection.removeAll(dispatchMessages);
-                subscriber.tell(new DataAvailable(sessionId, dispatchMessages), this.self());
+                int bufferedMessages = this.messageCollection.size();
+                List<Message> dispatchMessages = this.messageCollection.drain(dispatchSize);
+                this.flowController.release(dispatchMessages.size());
+                this.channelMetrics.recordFlush(flushReason,
+                        dispatchMessages.size(),
+                        bufferedMessages,
+                        System.nanoTime() - this.pollStartNanos);
+                this.channelMetrics.recordBufferDepth(this.messageCollection.size());
+                if (this.messageCollection.size() >= this.prefetchCapacity) {
+                    this.stopConsumerPolling();
+                } else {
+                    this.startConsumerPolling();
+                }
+                subscriber.tell(new DataAvailable(sessionId, dispatchMessages, this.pollStartNanos), this.self());
             });
         }
     }
@@ -269,13 +378,33 @@ public class ConsumerActor extends AbstractActor {
      * Handler for PollData message. Polls data from the message queue
      */
     private void onPollData() {
-        if (this.messageCollection.size() >= this.maxMessagesPerBatch) {
-            this.flushBufferedData();
+        if (this.messageCollection.size() >= Math.min(this.maxMessagesPerBatch, this.dispatchLimit)) {
+            this.flushBufferedData(ChannelMetrics.FlushReason.SIZE);
         } else {
+            this.startConsumerPolling();
+        }
+    }
+
+    /**
+     * Starts the consumer polling the message queue, if it is not already polling
+     */
+    private void startConsumerPolling() {
+        if (!this.pollingActive) {
+            this.pollingActive = true;
             this.consumer.startPolling();
         }
     }
 
+    /**
+     * Stops the consumer from polling the message queue, if it is polling
+     */
+    private void stopConsumerPolling() {
+        if (this.pollingActive) {
+            this.pollingActive = false;
+            this.consumer.stopPolling();
+        }
+    }
+
     @Override
     public void preStart() throws Exception {
         super.preStart();
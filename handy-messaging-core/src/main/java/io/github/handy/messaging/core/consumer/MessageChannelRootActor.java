@@ -28,16 +28,18 @@ import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.japi.pf.ReceiveBuilder;
-import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
 import io.github.handy.messaging.core.configuration.Profile;
 import io.github.handy.messaging.core.consumer.dispatcher.MessageChannelDispatcherActor;
+import io.github.handy.messaging.core.consumer.dispatcher.WorkerDispatchers;
 import io.github.handy.messaging.interfaces.MessageHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Root actor for the message channel. This actor is responsible for creating the publisher, subscriber and dispatcher actors
- * and initializing them.
+ * and initializing them. The worker actors of the channel run on the dispatcher configured for the channel's profile, or
+ * on the shared worker dispatcher if the profile does not configure one.
  */
 public class MessageChannelRootActor extends AbstractActor {
 
@@ -45,6 +47,7 @@ public class MessageChannelRootActor extends AbstractActor {
     private ActorRef subscriberActor;
     private ActorRef dispatcherActor;
     private String channelId;
+    private ConsumerChannelSettings channelSettings;
     private Logger LOGGER = LoggerFactory.getLogger(MessageChannelRootActor.class);
 
     /**
@@ -74,32 +77,33 @@ public class MessageChannelRootActor extends AbstractActor {
         this.channelId = this.channelId.replace('+', '_');
         this.initializationCompleteCallback = onInitializationComplete;
 
-        int maxMessagesPerBatch = Integer.parseInt(profile.getConsumerProperties()
-                .getProps()
-                .get(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH).toString());
-        long maxPollDurationMs =  Long.parseLong(profile.getConsumerProperties()
-                .getProps()
-                .get(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS).toString());
+        this.channelSettings = ConsumerChannelSettings.fromProfile(profile);
 
         this.publisherActor = this.context().actorOf(ConsumerActor.getActorProperties(profile,
                 self(),
                 queueName,
                 messageTypeClass,
                 this.channelId,
-                maxMessagesPerBatch,
-                maxPollDurationMs), String.format("CONSUMER-ACTOR@%s", this.channelId));
+                this.channelSettings), String.format("CONSUMER-ACTOR@%s", this.channelId));
 
-        this.dispatcherActor = this.context().actorOf(MessageChannelDispatcherActor.getActorProperties(this.channelId, messageHandler),
+        String workerDispatcherId = WorkerDispatchers.getWorkerDispatcher(this.context().system(),
+                this.channelId,
+                this.channelSettings);
+        this.dispatcherActor = this.context().actorOf(MessageChannelDispatcherActor.getActorProperties(this.channelId,
+                        messageHandler,
+                        this.channelSettings,
+                        workerDispatcherId),
                 String.format("DISPATCHER-ACTOR@%s", this.channelId));
 
     }
 
 
     /**
-     * Handler for the StartConsumerChannel message
+     * Handler for the StartConsumerChannel message. The first poll is sized as the subscriber sizes the following
+     * ones, within the bounds of the adaptive batch size if it is enabled
      */
     private void onStartConsumerChannel(){
-        this.publisherActor.tell(new ConsumerActor.PollData(3), this.self());
+        this.publisherActor.tell(new ConsumerActor.PollData(this.channelSettings.getInitialDispatchLimit()), this.self());
     }
 
     /**
@@ -109,7 +113,8 @@ public class MessageChannelRootActor extends AbstractActor {
         this.subscriberActor = this.context().actorOf(MessageChannelSubscriberActor.getActorProperties(this.channelId,
                 this.self(),
                 this.publisherActor,
-                this.dispatcherActor), String.format("SUBSCRIBER-ACTOR@%s", this.channelId));
+                this.dispatcherActor,
+                this.channelSettings), String.format("SUBSCRIBER-ACTOR@%s", this.channelId));
         this.subscriberActor.tell(new MessageChannelSubscriberActor.Initialize(), this.self());
     }
 
@@ -28,19 +28,22 @@ import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.japi.pf.ReceiveBuilder;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
 import io.github.handy.messaging.core.consumer.dispatcher.MessageChannelDispatcherActor;
 import io.github.handy.messaging.interfaces.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 /**
  * MessageChannelSubscriberActor - Actor class that subscribes to a message channel and receives messages from the
  * publisher actor. The subscriber actor is responsible for receiving messages from the publisher actor and
- * dispatching the messages to the dispatcher actor.
+ * dispatching the messages to the dispatcher actor. If the channel has the adaptive batch size enabled, the subscriber
+ * times each batch and sizes the next poll request from it.
  */
 public class MessageChannelSubscriberActor extends AbstractActor {
 
@@ -65,6 +68,11 @@ public class MessageChannelSubscriberActor extends AbstractActor {
     private ActorRef publisherActor;
     private ActorRef rootActor;
     private ActorRef dispatcherActor;
+    private int pollMessageLimit;
+    private int dispatchLimit;
+    private Optional<AdaptiveBatchController> batchController;
+    private int dispatchedMessageCount;
+    private long dispatchStartNanos;
 
 
     @Override
@@ -72,13 +80,16 @@ public class MessageChannelSubscriberActor extends AbstractActor {
         return new ReceiveBuilder().match(Initialize.class, args -> {
             this.onInitialize();
         }).match(ConsumerActor.DataAvailable.class, args->{
-            this.onDataReceived(args.sessionId, args.messageCollection);
+            this.onDataReceived(args.sessionId, args.messageCollection, args.pollStartNanos);
         }).match(ConsumerActor.SubscriptionAck.class, args->{
             this.onPublisherAck();
         }).match(MessageChannelDispatcherActor.SubscriberRegistered.class, args -> {
             this.onDispatcherAck();
         }).match(MessageChannelDispatcherActor.DispatchCompleted.class, args->{
-            this.publisherActor.tell(new ConsumerActor.PollData(3), this.self());
+            this.onDispatchCompleted();
+        }).match(MessageChannelDispatcherActor.RequestMessages.class, args->{
+            this.pollMessageLimit = Math.min(args.getMessageLimit(), this.dispatchLimit);
+            this.publisherActor.tell(new ConsumerActor.PollData(this.pollMessageLimit), this.self());
         }).build();
     }
 
@@ -91,16 +102,28 @@ public class MessageChannelSubscriberActor extends AbstractActor {
      * @param publisherActor - Publisher Actor
      * @param rootActor - Root Actor
      * @param dispatcherActor - Dispatcher Actor
+     * @param channelSettings - Settings of the channel
      */
 
     public MessageChannelSubscriberActor(String channelId,
                                          ActorRef publisherActor,
                                          ActorRef rootActor,
-                                         ActorRef dispatcherActor){
+                                         ActorRef dispatcherActor,
+                                         ConsumerChannelSettings channelSettings){
         this.channelId = channelId;
         this.publisherActor = publisherActor;
         this.rootActor = rootActor;
         this.dispatcherActor = dispatcherActor;
+        this.dispatchLimit = channelSettings.getDispatchLimit();
+        this.pollMessageLimit = this.dispatchLimit;
+        this.batchController = Optional.empty();
+        if(channelSettings.isAdaptiveBatchEnabled()){
+            this.batchController = Optional.of(new AdaptiveBatchController(channelSettings.getInitialDispatchLimit(),
+                    channelSettings.getAdaptiveBatchMinSize(),
+                    channelSettings.getAdaptiveBatchMaxSize(),
+                    channelSettings.getAdaptiveBatchTargetLatencyMillis()));
+            this.pollMessageLimit = this.batchController.get().getBatchSize();
+        }
         this.pendingInitializationSteps = new HashSet<>(){{
             add(InitializationModules.PUBLISHER);
             add(InitializationModules.DISPATCHER);
@@ -112,21 +135,45 @@ public class MessageChannelSubscriberActor extends AbstractActor {
      * onDataReceived - Method to handle the data received from the publisher actor
      * @param sessionId - Session ID
      * @param messages - List of messages
+     * @param pollStartNanos - Time of the poll request that collected the messages
      */
-    private void onDataReceived(UUID sessionId, List<Message> messages){
+    private void onDataReceived(UUID sessionId, List<Message> messages, long pollStartNanos){
 
         LOGGER.info(String.format("SUBSCRIBER-ACTOR %s received %s messages", this.self(), messages.size()));
         if(messages.size()>0) {
-            this.dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(sessionId, messages),
+            this.dispatchedMessageCount = messages.size();
+            this.dispatchStartNanos = System.nanoTime();
+            this.dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(sessionId, messages, pollStartNanos),
                     this.self());
         } else {
-            this.publisherActor.tell(new ConsumerActor.PollData(3), this.self());
+            this.publisherActor.tell(new ConsumerActor.PollData(this.pollMessageLimit), this.self());
         }
 
     }
 
-    public static final Props getActorProperties(String channelId, ActorRef rootActor, ActorRef publisherActor, ActorRef dispatcherActor){
-        return Props.create(MessageChannelSubscriberActor.class, channelId, publisherActor, rootActor, dispatcherActor);
+    /**
+     * onDispatchCompleted - Handler for the DispatchCompleted message. Adjusts the batch size if the adaptive batch size
+     * is enabled and polls for the next batch
+     */
+    private void onDispatchCompleted(){
+        this.batchController.ifPresent(controller -> {
+            this.pollMessageLimit = controller.onBatchCompleted(this.dispatchedMessageCount,
+                    System.nanoTime() - this.dispatchStartNanos);
+            LOGGER.info(String.format("SUBSCRIBER-ACTOR %s processed %s messages at %.2f messages/sec. Next batch size - %s",
+                    this.self(),
+                    this.dispatchedMessageCount,
+                    controller.getThroughput(),
+                    this.pollMessageLimit));
+        });
+        this.publisherActor.tell(new ConsumerActor.PollData(this.pollMessageLimit), this.self());
+    }
+
+    public static final Props getActorProperties(String channelId,
+                                                 ActorRef rootActor,
+                                                 ActorRef publisherActor,
+                                                 ActorRef dispatcherActor,
+                                                 ConsumerChannelSettings channelSettings){
+        return Props.create(MessageChannelSubscriberActor.class, channelId, publisherActor, rootActor, dispatcherActor, channelSettings);
     }
 
     /**
@@ -134,7 +181,7 @@ public class MessageChannelSubscriberActor extends AbstractActor {
      */
     private void onInitialize(){
         this.publisherActor.tell(new ConsumerActor.SubscriptionRequest(this.self()), this.self());
-        this.dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(this.self()), this.self());
+        this.dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(this.self(), this.publisherActor), this.self());
     }
 
     /**
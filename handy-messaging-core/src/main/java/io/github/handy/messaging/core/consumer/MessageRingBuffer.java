@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer;
+
+import io.github.handy.messaging.interfaces.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MessageRingBuffer is an array backed ring buffer holding the messages buffered by a ConsumerActor. Adding a message
+ * and draining a batch of messages take constant time per message, and neither depends on the equality of messages.
+ * The buffer is meant to be accessed from its owning actor only and is not thread safe. The capacity of the buffer is
+ * fixed. Adding a message to a full buffer fails, the flow controller of the channel is expected to hold the connector
+ * back before the buffer fills up.
+ */
+public class MessageRingBuffer {
+
+    private Message[] slots;
+    private int head;
+    private int size;
+    private int highWaterMark;
+
+    /**
+     * Constructor for MessageRingBuffer
+     * @param capacity Number of messages the buffer can hold
+     */
+    public MessageRingBuffer(int capacity){
+        if(capacity < 1){
+            throw new IllegalArgumentException(String.format("Invalid ring buffer capacity %s", capacity));
+        }
+        this.slots = new Message[capacity];
+        this.head = 0;
+        this.size = 0;
+        this.highWaterMark = 0;
+    }
+
+    /**
+     * Adds a message to the tail of the buffer
+     * @param message Message to add
+     * @throws IllegalStateException If the buffer is full
+     */
+    public void add(Message message){
+        if(this.size == this.slots.length){
+            throw new IllegalStateException(String.format("Message buffer is full with %s messages", this.size));
+        }
+        this.slots[(this.head + this.size) % this.slots.length] = message;
+        this.size++;
+        this.highWaterMark = Math.max(this.highWaterMark, this.size);
+    }
+
+    /**
+     * Removes up to the given number of messages from the head of the buffer
+     * @param maxMessages Maximum number of messages to remove
+     * @return Removed messages in the order they were added
+     */
+    public List<Message> drain(int maxMessages){
+        int drainCount = Math.min(maxMessages, this.size);
+        List<Message> drainedMessages = new ArrayList<>(drainCount);
+        for(int idx = 0; idx < drainCount; idx++){
+            drainedMessages.add(this.slots[this.head]);
+            this.slots[this.head] = null;
+            this.head = (this.head + 1) % this.slots.length;
+        }
+        this.size -= drainCount;
+        return drainedMessages;
+    }
+
+    /**
+     * Gets the number of messages that can be added before the buffer is full
+     * @return Remaining capacity of the buffer
+     */
+    public int remainingCapacity(){
+        return this.slots.length - this.size;
+    }
+
+    /**
+     * Gets the number of messages in the buffer
+     * @return Number of buffered messages
+     */
+    public int size(){
+        return this.size;
+    }
+
+    /**
+     * Gets the number of messages the buffer can hold
+     * @return Buffer capacity
+     */
+    public int capacity(){
+        return this.slots.length;
+    }
+
+    /**
+     * Gets the largest number of messages the buffer has held at once
+     * @return High-water mark of the buffer
+     */
+    public int getHighWaterMark(){
+        return this.highWaterMark;
+    }
+}
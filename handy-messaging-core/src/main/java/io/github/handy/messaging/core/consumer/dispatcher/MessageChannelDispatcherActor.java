@@ -29,28 +29,60 @@ import akka.actor.ActorRef;
 import akka.actor.PoisonPill;
 import akka.actor.Props;
 import akka.japi.pf.ReceiveBuilder;
+import akka.routing.DefaultResizer;
+import akka.routing.SmallestMailboxPool;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.DispatchMode;
+import io.github.handy.messaging.core.configuration.OrderingMode;
+import io.github.handy.messaging.core.configuration.WorkerPoolMode;
+import io.github.handy.messaging.core.metrics.ChannelMetrics;
+import io.github.handy.messaging.core.metrics.Metrics;
+import io.github.handy.messaging.interfaces.AsyncMessageHandler;
+import io.github.handy.messaging.interfaces.BatchMessageHandler;
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.MessageHandler;
+import io.github.handy.messaging.interfaces.PartitionedMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.lang.reflect.Method;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The MessageChannelDispatcherActor class is an actor that is responsible for dispatching messages to worker actors.
+ * Depending on the worker pool mode of the channel, the messages are either dispatched to a worker actor created for
+ * each message, to a pool of long-lived worker actors owned by the dispatcher, or run on a virtual thread each
+ * without going through a worker actor. In the batch dispatch mode the dispatcher asks for more messages once the
+ * whole batch is processed, while in the continuous dispatch mode it asks for more messages whenever there is room in
+ * the in-flight window of the channel. Messages of a transaction group are processed in order in the lane of the
+ * group, which carries over from one batch to the next. If the message handler is a BatchMessageHandler, the messages
+ * dispatched to a lane are handed over to it as one task, and the messages outside of any transaction group as
+ * another. If the message handler is an AsyncMessageHandler, or the tasks run on virtual threads, no more than the
+ * configured number of tasks are outstanding at a time, and the tasks beyond the limit wait in the dispatcher until
+ * an outstanding task completes. In the partition ordering mode, messages tagged with the partition they were consumed
+ * from are processed in order in the lane of their partition instead, and the lanes of different partitions in
+ * parallel.
  */
 public class MessageChannelDispatcherActor extends AbstractActor {
 
     /**
-     * The RegisterSubscriber class is a message class that is used to register a subscriber actor with the dispatcher.
+     * The RegisterSubscriber class is a message class that is used to register a subscriber actor with the dispatcher,
+     * along with the consumer actor to be told of the messages that have finished processing, if any.
      */
     public static final class RegisterSubscriber{
 
         ActorRef subscriberActor;
+        Optional<ActorRef> consumerActor;
 
         public RegisterSubscriber(ActorRef subscriberActor){
             this.subscriberActor = subscriberActor;
+            this.consumerActor = Optional.empty();
+        }
+
+        public RegisterSubscriber(ActorRef subscriberActor, ActorRef consumerActor){
+            this.subscriberActor = subscriberActor;
+            this.consumerActor = Optional.of(consumerActor);
         }
         @Override
         public int hashCode(){
@@ -80,9 +112,30 @@ public class MessageChannelDispatcherActor extends AbstractActor {
     public static final class DispatchMessages{
         List<Message> messages;
         UUID sessionId;
+        long pollStartNanos;
         public DispatchMessages(UUID sessionId, List<Message> messages){
+            this(sessionId, messages, System.nanoTime());
+        }
+
+        public DispatchMessages(UUID sessionId, List<Message> messages, long pollStartNanos){
             this.messages = messages;
             this.sessionId = sessionId;
+            this.pollStartNanos = pollStartNanos;
+        }
+    }
+
+    /**
+     * The RequestMessages class is a message class that the dispatcher sends to the subscriber actor in the continuous
+     * dispatch mode to ask for up to the given number of messages.
+     */
+    public static final class RequestMessages {
+        int messageLimit;
+        public RequestMessages(int messageLimit){
+            this.messageLimit = messageLimit;
+        }
+
+        public int getMessageLimit() {
+            return messageLimit;
         }
     }
 
@@ -97,46 +150,173 @@ public class MessageChannelDispatcherActor extends AbstractActor {
         }
     }
 
+    /**
+     * The MessagesProcessed class is a message class that the dispatcher sends to the consumer actor once the messages
+     * of a task have finished processing.
+     */
+    public static final class MessagesProcessed {
+        List<Message> messages;
+        public MessagesProcessed(List<Message> messages){
+            this.messages = messages;
+        }
+
+        public List<Message> getMessages() {
+            return messages;
+        }
+    }
+
     private Optional<UUID> dispatchSessionId;
     private String channelId;
     private ActorRef subscriber;
+    private Optional<ActorRef> consumerActor = Optional.empty();
     private HashSet<UUID> taskIdSet;
+    private int inFlightMessages;
+    private int outstandingTasks;
+    private int maxOutstandingTasks;
+    private Queue<WorkerTask> pendingTasks;
     private MessageHandler messageHandler;
     private Logger LOGGER = LoggerFactory.getLogger(MessageChannelDispatcherActor.class);
     private TaskMap taskMap;
+    private WorkerPoolMode workerPoolMode;
+    private Optional<ActorRef> workerPool;
+    private Optional<ExecutorService> taskExecutor;
+    private String workerDispatcherId;
+    private ChannelMetrics channelMetrics;
+    private DispatchMode dispatchMode;
+    private int maxInFlight;
+    private boolean messageRequestPending;
+    private Set<Optional<String>> activeLanes;
+    private TransactionLanes transactionLanes;
+    private OrderingMode orderingMode;
+
+    /**
+     * Constructor for the MessageChannelDispatcherActor class
+     * @param channelId The channel ID of the dispatcher
+     * @param messageHandler The message handler instance that is used to process messages
+     * @param channelSettings The settings of the channel
+     */
+    public MessageChannelDispatcherActor(String channelId, MessageHandler messageHandler, ConsumerChannelSettings channelSettings){
+        this(channelId, messageHandler, channelSettings, WorkerDispatchers.SHARED_WORKER_DISPATCHER);
+    }
 
     /**
      * Constructor for the MessageChannelDispatcherActor class
      * @param channelId The channel ID of the dispatcher
      * @param messageHandler The message handler instance that is used to process messages
+     * @param channelSettings The settings of the channel
+     * @param workerDispatcherId The ID of the Akka dispatcher the worker actors of the channel run on
      */
-    public MessageChannelDispatcherActor(String channelId, MessageHandler messageHandler){
+    public MessageChannelDispatcherActor(String channelId, MessageHandler messageHandler, ConsumerChannelSettings channelSettings,
+                                         String workerDispatcherId){
         this.channelId = channelId;
+        this.workerDispatcherId = workerDispatcherId;
+        this.channelMetrics = Metrics.getRegistry().getChannelMetrics(channelId);
         this.dispatchSessionId = Optional.empty();
         this.messageHandler = messageHandler;
         this.taskMap = new TaskMap();
+        this.taskIdSet = new HashSet<>();
+        this.inFlightMessages = 0;
+        this.outstandingTasks = 0;
+        this.maxOutstandingTasks = (messageHandler instanceof AsyncMessageHandler) ? channelSettings.getAsyncMaxOutstanding()
+                : Integer.MAX_VALUE;
+        if(channelSettings.getWorkerPoolMode() == WorkerPoolMode.VIRTUAL_THREAD){
+            this.maxOutstandingTasks = Math.min(this.maxOutstandingTasks, channelSettings.getVirtualThreadMaxConcurrency());
+        }
+        this.pendingTasks = new LinkedList<>();
+        this.activeLanes = new HashSet<>();
+        this.transactionLanes = new TransactionLanes(channelSettings.getTransactionGroupLanes());
+        this.orderingMode = channelSettings.getOrderingMode();
+        this.dispatchMode = channelSettings.getDispatchMode();
+        this.maxInFlight = channelSettings.getMaxInFlight();
+        // The first poll of the channel is issued by the root actor when the channel starts
+        this.messageRequestPending = true;
+        this.workerPoolMode = channelSettings.getWorkerPoolMode();
+        this.workerPool = Optional.empty();
+        this.taskExecutor = Optional.empty();
+        if(this.workerPoolMode == WorkerPoolMode.POOLED){
+            this.workerPool = Optional.of(this.createWorkerPool(channelSettings));
+        } else if(this.workerPoolMode == WorkerPoolMode.VIRTUAL_THREAD){
+            this.taskExecutor = Optional.of(this.createVirtualThreadExecutor());
+        }
+    }
+
+    /**
+     * Creates the pool of long-lived worker actors. A task is routed to an idle worker where possible so that a slow
+     * task does not hold back the tasks queued behind it. The pool resizes with load if it is configured as elastic
+     * @param channelSettings The settings of the channel
+     * @return Reference to the router actor fronting the pool
+     */
+    private ActorRef createWorkerPool(ConsumerChannelSettings channelSettings){
+        SmallestMailboxPool pool = new SmallestMailboxPool(channelSettings.getWorkerPoolSize());
+        if(channelSettings.isElasticWorkerPool()){
+            pool = pool.withResizer(new DefaultResizer(channelSettings.getWorkerPoolSize(),
+                    channelSettings.getWorkerPoolMaxSize()));
+        }
+        LOGGER.info(String.format("DISPATCHER-ACTOR for %s creating worker pool of size %s (max %s)",
+                this.channelId,
+                channelSettings.getWorkerPoolSize(),
+                channelSettings.getWorkerPoolMaxSize()));
+        return this.context().actorOf(pool.props(WorkerActor.getActorProperties(this.messageHandler, this.workerDispatcherId)),
+                String.format("WORKER-POOL@%s", this.channelId));
+    }
+
+    /**
+     * Creates the executor starting a virtual thread per task. Virtual threads are looked up reflectively as the
+     * library is built for Java 17, and a cached pool of platform threads is used on JVMs that do not have them
+     * @return Executor running the tasks of the channel
+     */
+    private ExecutorService createVirtualThreadExecutor(){
+        try {
+            Method executorFactory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            LOGGER.info(String.format("DISPATCHER-ACTOR for %s running tasks on virtual threads", this.channelId));
+            return (ExecutorService) executorFactory.invoke(null);
+        } catch (ReflectiveOperationException ex){
+            LOGGER.warn(String.format("Virtual threads are not available on this JVM. DISPATCHER-ACTOR for %s running tasks on a cached thread pool",
+                    this.channelId));
+            return Executors.newCachedThreadPool();
+        }
     }
 
     @Override
     public Receive createReceive() {
         return new ReceiveBuilder().match(RegisterSubscriber.class, args -> {
             this.subscriber = args.subscriberActor;
+            this.consumerActor = args.consumerActor;
             this.sender().tell(new SubscriberRegistered(), this.self());
         }).match(DispatchMessages.class, args->{
             this.dispatchSessionId = Optional.of(args.sessionId);
-            this.onDispatchMessages(args.messages);
+            this.onDispatchMessages(args.messages, args.pollStartNanos);
         }).match(WorkerActor.TaskCompleted.class, args->{
             LOGGER.info(String.format("WORKER-ACTOR %s completed processing a task", this.sender()));
-            this.sender().tell(PoisonPill.getInstance(), this.self());
-            if(dispatchSessionId.isPresent() && taskIdSet.contains(args.task.getTaskId())){
-                this.taskIdSet.remove(args.task.getTaskId());
-                Optional<String> transGrpId = args.task.getMessage().getTransactionGroupId();
-                if(this.taskMap.hasAvailableTasks(transGrpId)){
-                    WorkerTask task = this.taskMap.getNextTask(transGrpId);
+            if(this.workerPoolMode == WorkerPoolMode.PER_MESSAGE) {
+                this.sender().tell(PoisonPill.getInstance(), this.self());
+            }
+            if(taskIdSet.remove(args.task.getTaskId())){
+                this.inFlightMessages -= args.task.getMessages().size();
+                this.outstandingTasks--;
+                this.consumerActor.ifPresent(consumer -> consumer.tell(new MessagesProcessed(args.task.getMessages()),
+                        this.self()));
+                this.dispatchPendingTasks();
+                this.channelMetrics.recordTaskCompleted(args.succeeded,
+                        args.handlerLatencyNanos,
+                        System.nanoTime() - args.task.getPollStartNanos());
+                if(!args.succeeded){
+                    LOGGER.error(String.format("DISPATCHER-ACTOR %s task %s failed processing %s messages",
+                            this.self(),
+                            args.task.getTaskId(),
+                            args.task.getMessages().size()));
+                }
+                Optional<String> lane = this.getLane(args.task.getMessage());
+                if(this.taskMap.hasAvailableTasks(lane)){
+                    WorkerTask task = this.taskMap.getNextTask(lane);
                     LOGGER.info(String.format("Sequential dispatching of task ID: %s", task.getTaskId()));
                     dispatchTask(task);
+                } else {
+                    this.activeLanes.remove(lane);
                 }
-                if(this.taskIdSet.isEmpty()){
+                if(this.dispatchMode == DispatchMode.CONTINUOUS){
+                    this.requestMessages();
+                } else if(this.taskIdSet.isEmpty() && this.dispatchSessionId.isPresent()){
                     LOGGER.info(String.format("DISPATCHER-ACTOR %s processed all messages. Requesting SUBSCRIBER-ACTOR %s to request more", this.self(), this.subscriber));
                     UUID completedSessionId = this.dispatchSessionId.get();
                     this.dispatchSessionId = Optional.empty();
@@ -151,42 +331,131 @@ public class MessageChannelDispatcherActor extends AbstractActor {
         }).build();
     }
     private void dispatchTasks(){
-        for(Optional<String> transactionGrpId: this.taskMap.getAllTransactions()){
-            if(transactionGrpId.equals(Optional.empty())){
-                LOGGER.info(String.format("Parallel dispatching %s tasks", taskMap.getTaskCount(transactionGrpId)));
-               while(this.taskMap.hasAvailableTasks(transactionGrpId)){
-                   WorkerTask task = this.taskMap.getNextTask(transactionGrpId);
+        for(Optional<String> lane: this.taskMap.getAllTransactions()){
+            if(lane.equals(Optional.empty())){
+                LOGGER.info(String.format("Parallel dispatching %s tasks", taskMap.getTaskCount(lane)));
+               while(this.taskMap.hasAvailableTasks(lane)){
+                   WorkerTask task = this.taskMap.getNextTask(lane);
                    dispatchTask(task);
                }
-            } else {
-                WorkerTask task = this.taskMap.getNextTask(transactionGrpId);
+            } else if(!this.activeLanes.contains(lane)){
+                WorkerTask task = this.taskMap.getNextTask(lane);
                 LOGGER.info(String.format("Sequential dispatching of task ID: %s", task.getTaskId()));
+                this.activeLanes.add(lane);
                 dispatchTask(task);
             }
         }
     }
 
+    /**
+     * Asks the subscriber for as many messages as there is room for in the in-flight window, unless an earlier
+     * request is still pending
+     */
+    private void requestMessages(){
+        int freeSlots = this.maxInFlight - this.inFlightMessages;
+        if(!this.messageRequestPending && freeSlots > 0){
+            LOGGER.info(String.format("DISPATCHER-ACTOR %s requesting %s messages from SUBSCRIBER-ACTOR %s",
+                    this.self(),
+                    freeSlots,
+                    this.subscriber));
+            this.messageRequestPending = true;
+            this.subscriber.tell(new MessageChannelDispatcherActor.RequestMessages(freeSlots), this.self());
+        }
+    }
+
     private void dispatchTask(WorkerTask task){
-        ActorRef workerActor = task.getWorkerActor();
+        if(this.outstandingTasks >= this.maxOutstandingTasks){
+            this.pendingTasks.add(task);
+            return;
+        }
+        this.outstandingTasks++;
+        if(this.taskExecutor.isPresent()){
+            this.runTaskOnExecutor(this.taskExecutor.get(), task);
+            return;
+        }
+        ActorRef workerActor = this.workerPool.orElseGet(() -> this.context()
+                .actorOf(WorkerActor.getActorProperties(this.messageHandler, this.workerDispatcherId),
+                        String.format("WORKER-ACTOR-%s@%s", task.getTaskId(), this.channelId)));
         workerActor.tell(new WorkerActor.ProcessTask(task), this.self());
     }
 
-    private void onDispatchMessages(List<Message> messages){
-        LOGGER.info(String.format("DISPATCHER-ACTOR %s received %s messages", this.self(), messages.size()));
-        List<UUID> taskIds = messages.stream().map(message -> UUID.randomUUID())
-                .collect(Collectors.toList());
-        taskIdSet = new HashSet<>(taskIds);
-        IntStream.range(0, messages.size()).forEach(idx -> {
-            Message message = messages.get(idx);
-            UUID workerId = taskIds.get(idx);
-            ActorRef workerActor = this.context()
-                    .actorOf(WorkerActor.getActorProperties(workerId, messageHandler.getNewInstance().orElse(messageHandler)),
-                            String.format("WORKER-ACTOR-%s@%s", workerId, this.channelId));
-            Optional<String> transactionGroupId = message.getTransactionGroupId();
-            WorkerTask task = new WorkerTask(workerId, message, workerActor);
-            taskMap.addTransaction(transactionGroupId,task);
+    /**
+     * Runs the task on the given executor instead of a worker actor, and reports its completion to the dispatcher
+     * @param executor The executor to run the task on
+     * @param task The task to run
+     */
+    private void runTaskOnExecutor(ExecutorService executor, WorkerTask task){
+        ActorRef dispatcher = this.self();
+        MessageHandler handler = this.messageHandler;
+        Logger logger = this.LOGGER;
+        executor.execute(() -> {
+            boolean succeeded = false;
+            long startNanos = System.nanoTime();
+            try {
+                WorkerActor.processTask(handler.getNewInstance().orElse(handler), task);
+                succeeded = true;
+            } catch (Exception e){
+                logger.error(String.format("Error processing task %s. Details - %s", task.getTaskId(), e.getMessage()));
+            } finally {
+                dispatcher.tell(new WorkerActor.TaskCompleted(task, succeeded, System.nanoTime() - startNanos),
+                        ActorRef.noSender());
+            }
         });
+    }
+
+    /**
+     * Dispatches the tasks held back by the outstanding task limit, for as long as the limit allows
+     */
+    private void dispatchPendingTasks(){
+        while(!this.pendingTasks.isEmpty() && this.outstandingTasks < this.maxOutstandingTasks){
+            this.dispatchTask(this.pendingTasks.remove());
+        }
+    }
+
+    private void onDispatchMessages(List<Message> messages, long pollStartNanos){
+        LOGGER.info(String.format("DISPATCHER-ACTOR %s received %s messages", this.self(), messages.size()));
+        this.inFlightMessages += messages.size();
+        if(this.messageHandler instanceof BatchMessageHandler){
+            Map<Optional<String>, List<Message>> laneBatches = new LinkedHashMap<>();
+            messages.forEach(message -> laneBatches
+                    .computeIfAbsent(this.getLane(message), lane -> new ArrayList<>())
+                    .add(message));
+            laneBatches.forEach((lane, laneMessages) -> this.addTask(lane, laneMessages, pollStartNanos));
+        } else {
+            messages.forEach(message -> this.addTask(this.getLane(message),
+                    List.of(message),
+                    pollStartNanos));
+        }
         this.dispatchTasks();
+        if(this.dispatchMode == DispatchMode.CONTINUOUS){
+            this.messageRequestPending = false;
+            this.requestMessages();
+        }
+    }
+
+    /**
+     * Gets the lane a message is processed in. In the partition ordering mode a message tagged with its partition goes
+     * to the lane of the partition, and any other message to the lane of its transaction group
+     * @param message The message
+     * @return Lane of the message. Empty if the message can be processed in parallel with any other
+     */
+    private Optional<String> getLane(Message message){
+        if(this.orderingMode == OrderingMode.PARTITION && message instanceof PartitionedMessage){
+            return Optional.of(TransactionLanes.getPartitionLane(((PartitionedMessage) message).getPartition()));
+        }
+        return this.transactionLanes.getLane(message.getTransactionGroupId());
+    }
+
+    /**
+     * Queues a task processing the given messages in the given lane
+     * @param lane The lane of the task
+     * @param messages The messages of the task
+     * @param pollStartNanos The time of the poll request that collected the messages
+     */
+    private void addTask(Optional<String> lane, List<Message> messages, long pollStartNanos){
+        WorkerTask task = new WorkerTask(UUID.randomUUID(), messages, pollStartNanos);
+        this.taskIdSet.add(task.getTaskId());
+        this.taskMap.addTransaction(lane, task);
     }
 
     @Override
@@ -198,11 +467,17 @@ public class MessageChannelDispatcherActor extends AbstractActor {
     @Override
     public void postStop() throws Exception {
         super.postStop();
+        this.taskExecutor.ifPresent(ExecutorService::shutdown);
         LOGGER.info(String.format("DISPATCHER-ACTOR %s STOPPED", this.self()));
     }
 
-    public static Props getActorProperties(String channelId, MessageHandler msgHandler){
-        return Props.create(MessageChannelDispatcherActor.class, channelId, msgHandler);
+    public static Props getActorProperties(String channelId, MessageHandler msgHandler, ConsumerChannelSettings channelSettings){
+        return Props.create(MessageChannelDispatcherActor.class, channelId, msgHandler, channelSettings);
+    }
+
+    public static Props getActorProperties(String channelId, MessageHandler msgHandler, ConsumerChannelSettings channelSettings,
+                                           String workerDispatcherId){
+        return Props.create(MessageChannelDispatcherActor.class, channelId, msgHandler, channelSettings, workerDispatcherId);
     }
 
 }
@@ -0,0 +1,69 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer.dispatcher;
+
+import java.util.Optional;
+
+/**
+ * TransactionLanes class maps the transaction group of a message to the ordered lane its task runs in. Tasks of a lane
+ * are processed one after the other, while tasks of different lanes are processed in parallel. When the lane count
+ * is 0, every transaction group gets a lane of its own. Otherwise the transaction groups are striped over the given
+ * number of lanes, so that the number of lanes stays bounded however many transaction groups the channel sees.
+ * Lanes of transaction groups and lanes of partitions are keyed with distinct prefixes, so that a transaction group
+ * id can never name the lane of a partition.
+ */
+public class TransactionLanes {
+
+    private int laneCount;
+
+    /**
+     * Constructor for TransactionLanes
+     * @param laneCount Number of lanes to stripe the transaction groups over. 0 for a lane per transaction group
+     */
+    public TransactionLanes(int laneCount){
+        this.laneCount = laneCount;
+    }
+
+    /**
+     * Gets the lane of a transaction group
+     * @param transactionGroupId (Optional) The optional transaction group ID of a message
+     * @return Lane of the transaction group. Empty if the message is not part of a transaction group
+     */
+    public Optional<String> getLane(Optional<String> transactionGroupId){
+        if(this.laneCount == 0){
+            return transactionGroupId.map(groupId -> String.format("GROUP-%s", groupId));
+        }
+        return transactionGroupId.map(groupId -> String.format("LANE-%s", Math.floorMod(groupId.hashCode(), this.laneCount)));
+    }
+
+    /**
+     * Gets the lane of a partition, in the partition ordering mode
+     * @param partition The partition of a message
+     * @return Lane of the partition
+     */
+    public static String getPartitionLane(String partition){
+        return String.format("PARTITION-%s", partition);
+    }
+}
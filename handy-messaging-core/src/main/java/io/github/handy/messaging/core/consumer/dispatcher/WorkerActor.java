@@ -25,16 +25,24 @@
 package io.github.handy.messaging.core.consumer.dispatcher;
 
 import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.japi.pf.ReceiveBuilder;
+import io.github.handy.messaging.interfaces.AsyncMessageHandler;
+import io.github.handy.messaging.interfaces.BatchMessageHandler;
+import io.github.handy.messaging.interfaces.LazyMessage;
+import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.MessageHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Represents a worker actor that processes messages
+ * Represents a worker actor that processes messages. A worker actor either processes a single task and gets stopped
+ * by the dispatcher, or lives in the worker pool of a channel and processes tasks repeatedly. Tasks of an asynchronous
+ * message handler are only started by the worker, which reports them completed once the handler's stage completes
  */
 public class WorkerActor extends AbstractActor {
 
@@ -49,54 +57,96 @@ public class WorkerActor extends AbstractActor {
     }
 
     /**
-     * Message class - To indicate a task has been completed
+     * Message class - To indicate a task has been completed, either successfully or with a failure
      */
     public static class TaskCompleted {
         WorkerTask task;
-        public TaskCompleted(WorkerTask task){
+        boolean succeeded;
+        long handlerLatencyNanos;
+        public TaskCompleted(WorkerTask task, boolean succeeded, long handlerLatencyNanos){
             this.task = task;
+            this.succeeded = succeeded;
+            this.handlerLatencyNanos = handlerLatencyNanos;
         }
     }
 
     private Logger LOGGER = LoggerFactory.getLogger(WorkerActor.class);
-    private UUID workerId;
     private MessageHandler messageHandler;
 
 
     @Override
     public Receive createReceive() {
         return new ReceiveBuilder().match(ProcessTask.class, args->{
+           MessageHandler taskHandler = this.messageHandler.getNewInstance().orElse(this.messageHandler);
+           if(taskHandler instanceof AsyncMessageHandler){
+               this.processTaskAsync((AsyncMessageHandler) taskHandler, args.task, this.sender());
+               return;
+           }
+           boolean succeeded = false;
+           long startNanos = System.nanoTime();
            try {
-               this.processTask(args.task);
+               processTask(taskHandler, args.task);
+               succeeded = true;
            } catch (Exception e){
                LOGGER.error(String.format("Error processing task %s. Details - %s", args.task.getTaskId(), e.getMessage()));
            } finally {
-               this.sender().tell(new WorkerActor.TaskCompleted(args.task), this.self());
+               this.sender().tell(new WorkerActor.TaskCompleted(args.task, succeeded, System.nanoTime() - startNanos),
+                       this.self());
            }
         }).build();
     }
 
     /**
-     * Process the task
+     * Process the task. A batch message handler gets all the messages of the task in one call, while any other
+     * handler gets them one at a time. Lazily deserialized messages are deserialized here, on the thread of the worker
+     * @param taskHandler The message handler to process the task with
+     * @param task The task to be processed
+     */
+    static void processTask(MessageHandler taskHandler, WorkerTask task){
+        if(taskHandler instanceof BatchMessageHandler){
+            ((BatchMessageHandler) taskHandler).handleMessages(LazyMessage.resolve(task.getMessages()));
+        } else {
+            task.getMessages().forEach(message -> taskHandler.handleMessage(LazyMessage.resolve(message)));
+        }
+    }
+
+    /**
+     * Starts processing the task with an asynchronous message handler. The messages of the task are handed over one
+     * after the other, and the dispatcher is told the task is completed once the last of them has been processed
+     * @param taskHandler The asynchronous message handler to process the task with
      * @param task The task to be processed
+     * @param dispatcher The dispatcher to report the completion of the task to
      */
-    private void processTask(WorkerTask task){
-        this.messageHandler.handleMessage(task.getMessage());
+    private void processTaskAsync(AsyncMessageHandler taskHandler, WorkerTask task, ActorRef dispatcher){
+        ActorRef worker = this.self();
+        long startNanos = System.nanoTime();
+        CompletionStage<Void> taskStage = CompletableFuture.completedFuture(null);
+        for(Message message: task.getMessages()){
+            taskStage = taskStage.thenCompose(previous -> taskHandler.handleMessageAsync(LazyMessage.resolve(message)));
+        }
+        taskStage.whenComplete((result, ex) -> {
+            if(ex != null){
+                LOGGER.error(String.format("Error processing task %s. Details - %s", task.getTaskId(), ex.getMessage()));
+            }
+            dispatcher.tell(new WorkerActor.TaskCompleted(task, ex == null, System.nanoTime() - startNanos), worker);
+        });
     }
 
     /**
      * Constructor for WorkerActor
-     * @param workerId The worker id
      * @param messageHandler The message handler to process the message
      */
-    public WorkerActor(UUID workerId, MessageHandler messageHandler){
-        this.workerId = workerId;
+    public WorkerActor(MessageHandler messageHandler){
         this.messageHandler = messageHandler;
     }
 
-    public static Props getActorProperties(UUID workerId, MessageHandler messagehandler){
-        return Props.create(WorkerActor.class, workerId, messagehandler)
-                .withDispatcher("worker-dispatcher");
+    public static Props getActorProperties(MessageHandler messagehandler){
+        return getActorProperties(messagehandler, WorkerDispatchers.SHARED_WORKER_DISPATCHER);
+    }
+
+    public static Props getActorProperties(MessageHandler messagehandler, String workerDispatcherId){
+        return Props.create(WorkerActor.class, messagehandler)
+                .withDispatcher(workerDispatcherId);
     }
 
 
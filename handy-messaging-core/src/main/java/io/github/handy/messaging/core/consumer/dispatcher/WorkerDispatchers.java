@@ -0,0 +1,102 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer.dispatcher;
+
+import akka.actor.ActorSystem;
+import akka.dispatch.DispatcherConfigurator;
+import akka.dispatch.Dispatchers;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.WorkerDispatcherExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WorkerDispatchers resolves the Akka dispatcher the worker actors of a consumer channel run on. Channels share the
+ * worker-dispatcher unless their profile configures a dispatcher of their own, in which case a dispatcher is
+ * registered for the channel so that a slow channel cannot starve the workers of the others
+ */
+public class WorkerDispatchers {
+
+    public static final String SHARED_WORKER_DISPATCHER = "worker-dispatcher";
+    private static final String CHANNEL_WORKER_DISPATCHER_TEMPLATE = "worker-dispatcher-%s";
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerDispatchers.class);
+
+    private WorkerDispatchers(){}
+
+    /**
+     * Gets the ID of the dispatcher the worker actors of the channel run on, registering an isolated dispatcher for
+     * the channel if its settings ask for one
+     * @param actorSystem The actor system of the channel
+     * @param channelId The channel ID
+     * @param channelSettings The settings of the channel
+     * @return ID of the worker dispatcher of the channel
+     */
+    public static String getWorkerDispatcher(ActorSystem actorSystem, String channelId, ConsumerChannelSettings channelSettings){
+        if(!channelSettings.isIsolatedWorkerDispatcher()){
+            return SHARED_WORKER_DISPATCHER;
+        }
+        String dispatcherId = String.format(CHANNEL_WORKER_DISPATCHER_TEMPLATE, channelId);
+        Dispatchers dispatchers = actorSystem.dispatchers();
+        if(!dispatchers.hasDispatcher(dispatcherId)){
+            Config dispatcherConfig = ConfigFactory.parseMap(getDispatcherConfig(dispatcherId, channelSettings))
+                    .withFallback(actorSystem.settings().config().getConfig(Dispatchers.DefaultDispatcherId()));
+            dispatchers.registerConfigurator(dispatcherId, new DispatcherConfigurator(dispatcherConfig,
+                    dispatchers.prerequisites()));
+            LOGGER.info(String.format("Registered worker dispatcher %s with a %s of %s threads",
+                    dispatcherId,
+                    channelSettings.getWorkerDispatcherExecutor().getAkkaExecutor(),
+                    channelSettings.getWorkerDispatcherPoolSize()));
+        }
+        return dispatcherId;
+    }
+
+    /**
+     * Builds the configuration of the isolated worker dispatcher of a channel
+     * @param dispatcherId The ID of the dispatcher
+     * @param channelSettings The settings of the channel
+     * @return Dispatcher configuration keyed by path
+     */
+    private static Map<String, Object> getDispatcherConfig(String dispatcherId, ConsumerChannelSettings channelSettings){
+        WorkerDispatcherExecutor executor = channelSettings.getWorkerDispatcherExecutor();
+        int poolSize = channelSettings.getWorkerDispatcherPoolSize();
+        Map<String, Object> dispatcherConfig = new HashMap<>();
+        dispatcherConfig.put("id", dispatcherId);
+        dispatcherConfig.put("type", "Dispatcher");
+        dispatcherConfig.put("executor", executor.getAkkaExecutor());
+        dispatcherConfig.put("throughput", channelSettings.getWorkerDispatcherThroughput());
+        if(executor == WorkerDispatcherExecutor.THREAD_POOL){
+            dispatcherConfig.put("thread-pool-executor.fixed-pool-size", poolSize);
+        } else {
+            dispatcherConfig.put("fork-join-executor.parallelism-min", poolSize);
+            dispatcherConfig.put("fork-join-executor.parallelism-max", poolSize);
+        }
+        return dispatcherConfig;
+    }
+}
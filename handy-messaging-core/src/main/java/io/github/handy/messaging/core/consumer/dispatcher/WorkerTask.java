@@ -24,38 +24,66 @@
 
 package io.github.handy.messaging.core.consumer.dispatcher;
 
-import akka.actor.ActorRef;
 import io.github.handy.messaging.interfaces.Message;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
- * Represents a task to be executed by a worker actor
+ * Represents a task to be executed by a worker actor. The worker actor that runs the task is picked by the
+ * dispatcher at the time of dispatch. A task carries either a single message, or a batch of messages for a batch
+ * message handler
  */
 public class WorkerTask {
 
-    private Message message;
+    private List<Message> messages;
     private UUID taskId;
-    private ActorRef workerActor;
+    private long pollStartNanos;
 
     /**
      * Constructor for WorkerTask
      * @param taskId The task id
      * @param msg The message to be processed
-     * @param workerActor The worker actor that will process the message
      */
-    public WorkerTask(UUID taskId, Message msg, ActorRef workerActor){
-        this.message = msg;
+    public WorkerTask(UUID taskId, Message msg){
+        this(taskId, List.of(msg));
+    }
+
+    /**
+     * Constructor for a WorkerTask processing a batch of messages
+     * @param taskId The task id
+     * @param msgs The messages to be processed, in order
+     */
+    public WorkerTask(UUID taskId, List<Message> msgs){
+        this(taskId, msgs, System.nanoTime());
+    }
+
+    /**
+     * Constructor for a WorkerTask processing a batch of messages
+     * @param taskId The task id
+     * @param msgs The messages to be processed, in order
+     * @param pollStartNanos The time of the poll request that collected the messages
+     */
+    public WorkerTask(UUID taskId, List<Message> msgs, long pollStartNanos){
+        this.messages = msgs;
         this.taskId = taskId;
-        this.workerActor = workerActor;
+        this.pollStartNanos = pollStartNanos;
     }
 
     /**
-     * Get the message to be processed
+     * Get the message to be processed. For a batch task, this is the first message of the batch
      * @return The message to be processed
      */
     public Message getMessage() {
-        return message;
+        return messages.get(0);
+    }
+
+    /**
+     * Get the messages to be processed
+     * @return The messages to be processed, in order
+     */
+    public List<Message> getMessages() {
+        return messages;
     }
 
     /**
@@ -67,10 +95,10 @@ public class WorkerTask {
     }
 
     /**
-     * Get the worker actor that will process the message
-     * @return The worker actor that will process the message
+     * Get the time of the poll request that collected the messages of the task
+     * @return Poll start time in nanoseconds, as given by System.nanoTime
      */
-    public ActorRef getWorkerActor() {
-        return workerActor;
+    public long getPollStartNanos() {
+        return pollStartNanos;
     }
 }
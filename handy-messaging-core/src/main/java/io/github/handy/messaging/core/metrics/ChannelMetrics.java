@@ -0,0 +1,180 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a consumer channel. The actors of the channel record into it as messages move through the pipeline, and
+ * the metrics registry exposes it. Every method is safe to call from any thread and cheap enough for the hot path
+ */
+public class ChannelMetrics implements ChannelMetricsMXBean {
+
+    /**
+     * Reason for the consumer to flush its buffer to the subscriber
+     */
+    public enum FlushReason {
+        /**
+         * The buffer held a full batch
+         */
+        SIZE,
+        /**
+         * The poll deadline passed
+         */
+        TIMEOUT
+    }
+
+    private final String channelId;
+    private final LatencyHistogram pollLatency;
+    private final LatencyHistogram batchSize;
+    private final LongAdder sizeTriggeredFlushes;
+    private final LongAdder timeoutTriggeredFlushes;
+    private final AtomicLong bufferDepth;
+    private final AtomicLong bufferHighWaterMark;
+    private final LatencyHistogram bufferDepthAtFlush;
+    private final LatencyHistogram handlerLatency;
+    private final LongAdder handlerErrors;
+    private final LatencyHistogram endToEndLatency;
+
+    /**
+     * Constructor to create the metrics of a channel
+     * @param channelId The channel ID
+     */
+    public ChannelMetrics(String channelId){
+        this.channelId = channelId;
+        this.pollLatency = new LatencyHistogram();
+        this.batchSize = new LatencyHistogram();
+        this.sizeTriggeredFlushes = new LongAdder();
+        this.timeoutTriggeredFlushes = new LongAdder();
+        this.bufferDepth = new AtomicLong();
+        this.bufferHighWaterMark = new AtomicLong();
+        this.bufferDepthAtFlush = new LatencyHistogram();
+        this.handlerLatency = new LatencyHistogram();
+        this.handlerErrors = new LongAdder();
+        this.endToEndLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Records a flush of the consumer buffer
+     * @param reason Reason for the flush
+     * @param flushedMessages Number of messages flushed
+     * @param bufferedMessages Number of messages buffered before the flush
+     * @param pollLatencyNanos Time since the poll request the flush answers
+     */
+    public void recordFlush(FlushReason reason, int flushedMessages, int bufferedMessages, long pollLatencyNanos){
+        if(reason == FlushReason.SIZE){
+            this.sizeTriggeredFlushes.increment();
+        } else {
+            this.timeoutTriggeredFlushes.increment();
+        }
+        this.batchSize.record(flushedMessages);
+        this.bufferDepthAtFlush.record(bufferedMessages);
+        this.pollLatency.record(TimeUnit.NANOSECONDS.toMicros(pollLatencyNanos));
+    }
+
+    /**
+     * Records the number of messages currently buffered by the consumer, and raises the high-water mark of the buffer
+     * if needed
+     * @param bufferedMessages Number of buffered messages
+     */
+    public void recordBufferDepth(int bufferedMessages){
+        this.bufferDepth.set(bufferedMessages);
+        this.bufferHighWaterMark.accumulateAndGet(bufferedMessages, Math::max);
+    }
+
+    /**
+     * Records a task completed by the message handler
+     * @param succeeded True if the handler processed the task without failing
+     * @param handlerLatencyNanos Time the handler took for the task
+     * @param endToEndLatencyNanos Time since the poll request that collected the task's messages
+     */
+    public void recordTaskCompleted(boolean succeeded, long handlerLatencyNanos, long endToEndLatencyNanos){
+        if(!succeeded){
+            this.handlerErrors.increment();
+        }
+        this.handlerLatency.record(TimeUnit.NANOSECONDS.toMicros(handlerLatencyNanos));
+        this.endToEndLatency.record(TimeUnit.NANOSECONDS.toMicros(endToEndLatencyNanos));
+    }
+
+    /**
+     * Gets the ID of the channel the metrics belong to
+     * @return The channel ID
+     */
+    public String getChannelId() {
+        return channelId;
+    }
+
+    @Override
+    public HistogramSnapshot getPollLatencyMicros() {
+        return this.pollLatency.getSnapshot();
+    }
+
+    @Override
+    public HistogramSnapshot getBatchSize() {
+        return this.batchSize.getSnapshot();
+    }
+
+    @Override
+    public long getSizeTriggeredFlushes() {
+        return this.sizeTriggeredFlushes.sum();
+    }
+
+    @Override
+    public long getTimeoutTriggeredFlushes() {
+        return this.timeoutTriggeredFlushes.sum();
+    }
+
+    @Override
+    public long getBufferDepth() {
+        return this.bufferDepth.get();
+    }
+
+    @Override
+    public long getBufferHighWaterMark() {
+        return this.bufferHighWaterMark.get();
+    }
+
+    @Override
+    public HistogramSnapshot getBufferDepthAtFlush() {
+        return this.bufferDepthAtFlush.getSnapshot();
+    }
+
+    @Override
+    public HistogramSnapshot getHandlerLatencyMicros() {
+        return this.handlerLatency.getSnapshot();
+    }
+
+    @Override
+    public long getHandlerErrors() {
+        return this.handlerErrors.sum();
+    }
+
+    @Override
+    public HistogramSnapshot getEndToEndLatencyMicros() {
+        return this.endToEndLatency.getSnapshot();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.metrics;
+
+/**
+ * Management interface exposing the metrics of a consumer channel over JMX. Latencies are in microseconds
+ */
+public interface ChannelMetricsMXBean {
+
+    /**
+     * Gets the time from a poll request to the flush of the batch it collected
+     * @return Poll latency in microseconds
+     */
+    HistogramSnapshot getPollLatencyMicros();
+
+    /**
+     * Gets the number of messages in each flushed batch
+     * @return Batch size
+     */
+    HistogramSnapshot getBatchSize();
+
+    /**
+     * Gets the number of batches flushed because the buffer held a full batch
+     * @return Count of size triggered flushes
+     */
+    long getSizeTriggeredFlushes();
+
+    /**
+     * Gets the number of batches flushed because the poll deadline passed
+     * @return Count of timeout triggered flushes
+     */
+    long getTimeoutTriggeredFlushes();
+
+    /**
+     * Gets the number of messages currently buffered by the consumer
+     * @return Buffer depth
+     */
+    long getBufferDepth();
+
+    /**
+     * Gets the largest number of messages the consumer has buffered at once
+     * @return Buffer high-water mark
+     */
+    long getBufferHighWaterMark();
+
+    /**
+     * Gets the number of messages buffered by the consumer at each flush
+     * @return Buffer depth at flush
+     */
+    HistogramSnapshot getBufferDepthAtFlush();
+
+    /**
+     * Gets the time the message handler took for each task
+     * @return Handler latency in microseconds
+     */
+    HistogramSnapshot getHandlerLatencyMicros();
+
+    /**
+     * Gets the number of tasks the message handler failed
+     * @return Count of handler errors
+     */
+    long getHandlerErrors();
+
+    /**
+     * Gets the time from the poll request that collected a task's messages to the completion of the task
+     * @return End-to-end latency in microseconds
+     */
+    HistogramSnapshot getEndToEndLatencyMicros();
+}
@@ -0,0 +1,86 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The default metrics registry. Registers the metrics of every channel as an MXBean on the platform MBean server,
+ * under io.github.handy.messaging:type=ConsumerChannel,name=[channel ID]
+ */
+public class JmxMetricsRegistry implements MetricsRegistry {
+
+    private static final String OBJECT_NAME_TEMPLATE = "io.github.handy.messaging:type=ConsumerChannel,name=%s";
+    private final Map<String, ChannelMetrics> channelMetricsMap;
+    private final MBeanServer mBeanServer;
+    private final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsRegistry.class);
+
+    /**
+     * Constructor to create a registry on the platform MBean server
+     */
+    public JmxMetricsRegistry(){
+        this.channelMetricsMap = new ConcurrentHashMap<>();
+        this.mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    }
+
+    @Override
+    public ChannelMetrics getChannelMetrics(String channelId) {
+        return this.channelMetricsMap.computeIfAbsent(channelId, this::registerChannelMetrics);
+    }
+
+    /**
+     * Gets the name the metrics of a channel are registered under
+     * @param channelId The channel ID
+     * @return ObjectName of the channel metrics
+     * @throws JMException if the channel ID does not make a valid name
+     */
+    public static ObjectName getObjectName(String channelId) throws JMException {
+        return new ObjectName(String.format(OBJECT_NAME_TEMPLATE, ObjectName.quote(channelId)));
+    }
+
+    private ChannelMetrics registerChannelMetrics(String channelId){
+        ChannelMetrics channelMetrics = new ChannelMetrics(channelId);
+        try {
+            ObjectName objectName = getObjectName(channelId);
+            if(this.mBeanServer.isRegistered(objectName)){
+                this.mBeanServer.unregisterMBean(objectName);
+            }
+            this.mBeanServer.registerMBean(channelMetrics, objectName);
+        } catch (JMException ex){
+            LOGGER.warn(String.format("Metrics of channel %s could not be registered with JMX. Details - %s",
+                    channelId,
+                    ex.getMessage()));
+        }
+        return channelMetrics;
+    }
+}
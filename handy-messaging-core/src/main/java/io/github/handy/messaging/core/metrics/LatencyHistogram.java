@@ -0,0 +1,148 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with log-linear buckets, in the style of an HDR histogram. Values below
+ * 32 are counted exactly, and larger values in buckets of 16 per power of two, so a reported percentile is at most
+ * about 6% above the recorded value. Recording is a handful of atomic increments and never allocates
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray bucketCounts;
+    private final LongAdder totalCount;
+    private final LongAdder totalSum;
+    private final LongAccumulator maxValue;
+
+    /**
+     * Constructor to create an empty histogram
+     */
+    public LatencyHistogram(){
+        this.bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.totalSum = new LongAdder();
+        this.maxValue = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero
+     * @param value Value to record
+     */
+    public void record(long value){
+        long recordedValue = Math.max(0, value);
+        this.bucketCounts.incrementAndGet(getBucketIndex(recordedValue));
+        this.totalCount.increment();
+        this.totalSum.add(recordedValue);
+        this.maxValue.accumulate(recordedValue);
+    }
+
+    /**
+     * Gets the number of values recorded
+     * @return Count of recorded values
+     */
+    public long getCount(){
+        return this.totalCount.sum();
+    }
+
+    /**
+     * Gets the largest value recorded
+     * @return Maximum recorded value, or 0 if nothing was recorded
+     */
+    public long getMax(){
+        return this.maxValue.get();
+    }
+
+    /**
+     * Gets the mean of the values recorded
+     * @return Mean of the recorded values, or 0 if nothing was recorded
+     */
+    public double getMean(){
+        long count = this.totalCount.sum();
+        return count == 0 ? 0 : (double) this.totalSum.sum() / count;
+    }
+
+    /**
+     * Gets the value at the given percentile. The value reported is the upper bound of the bucket holding the
+     * percentile, capped at the maximum recorded value
+     * @param percentile Percentile between 0 and 100
+     * @return Value at the percentile, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile){
+        long count = this.totalCount.sum();
+        if(count == 0){
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+        long cumulativeCount = 0;
+        for(int idx = 0; idx < BUCKET_COUNT; idx++){
+            cumulativeCount += this.bucketCounts.get(idx);
+            if(cumulativeCount >= targetCount){
+                return Math.min(getBucketUpperBound(idx), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Takes a snapshot of the summary statistics of the histogram
+     * @return HistogramSnapshot
+     */
+    public HistogramSnapshot getSnapshot(){
+        return new HistogramSnapshot(this.getCount(),
+                this.getMean(),
+                this.getPercentile(50),
+                this.getPercentile(90),
+                this.getPercentile(99),
+                this.getMax());
+    }
+
+    private static int getBucketIndex(long value){
+        if(value < LINEAR_BUCKETS){
+            return (int) value;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long getBucketUpperBound(int bucketIndex){
+        if(bucketIndex < LINEAR_BUCKETS){
+            return bucketIndex;
+        }
+        int shift = (bucketIndex - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (bucketIndex - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
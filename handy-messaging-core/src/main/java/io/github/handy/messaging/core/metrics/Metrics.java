@@ -22,30 +22,30 @@
  * SOFTWARE.
  */
 
-package io.github.handy.messaging.core.consumer;
+package io.github.handy.messaging.core.metrics;
 
-import akka.actor.ActorRef;
-import akka.actor.ActorSystem;
-import akka.testkit.TestKit;
-import org.junit.Test;
-
-import java.util.UUID;
+/**
+ * Holder of the metrics registry the consumer channels record into. Defaults to the JmxMetricsRegistry
+ */
+public class Metrics {
 
-public class ConsumerInterruptActorTest {
-    static ActorSystem system = ActorSystem.create();
+    private static volatile MetricsRegistry registry = new JmxMetricsRegistry();
 
-    TestKit testProbe = new TestKit(system);
+    private Metrics(){}
 
-    private ActorRef getProbeActor(){
-        return testProbe.testActor();
+    /**
+     * Gets the metrics registry in use
+     * @return MetricsRegistry
+     */
+    public static MetricsRegistry getRegistry(){
+        return registry;
     }
 
-    @Test
-    public void verifyInterruptionGeneratedTest(){
-        UUID sessionId = UUID.randomUUID();
-        ActorRef consumerInterruptActor = system.actorOf(ConsumerInterruptActor.getActorProperties(sessionId));
-        consumerInterruptActor.tell(new ConsumerInterruptActor.StartTimer(5), getProbeActor());
-        ConsumerActor.InterruptPolling interruptPollingSignal = new ConsumerActor.InterruptPolling(sessionId);
-        testProbe.expectMsg(interruptPollingSignal);
+    /**
+     * Replaces the metrics registry. Channels set up after the call record into the new registry
+     * @param metricsRegistry The metrics registry to use
+     */
+    public static void setRegistry(MetricsRegistry metricsRegistry){
+        registry = metricsRegistry;
     }
 }
@@ -25,12 +25,18 @@
 package io.github.handy.messaging.core.producer;
 
 import io.github.handy.messaging.core.configuration.BootConfiguration;
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
 import io.github.handy.messaging.core.configuration.Profile;
 import io.github.handy.messaging.core.Constants;
 import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.PayloadCodecs;
 import io.github.handy.messaging.interfaces.Producer;
+import io.github.handy.messaging.interfaces.SendResult;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The MessageProducerSystem class is a simple interface to send messages to a messaging system. The class is responsible for
@@ -38,6 +44,10 @@ import java.util.Map;
  */
 public class MessageProducerSystem {
 
+    public static final String NO_COMPRESSION = "none";
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE = 512;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1000;
+
     private Producer producer;
 
     /**
@@ -61,6 +71,15 @@ public class MessageProducerSystem {
        } catch (Exception ex){
           throw new RuntimeException(ex.getMessage());
        }
+       String compressionCodec = producerProperties.getOrDefault(ConfigurationConstants.Producer.COMPRESSION_CODEC,
+               NO_COMPRESSION).toString();
+       int compressionMinSize = Integer.parseInt(producerProperties.getOrDefault(ConfigurationConstants.Producer.COMPRESSION_MIN_SIZE,
+               DEFAULT_COMPRESSION_MIN_SIZE).toString());
+       if(!compressionCodec.equals(NO_COMPRESSION)){
+           this.producer.setPayloadCodec(Optional.of(PayloadCodecs.getCodec(compressionCodec)), compressionMinSize);
+       }
+       this.producer.setMaxInFlight(Integer.parseInt(producerProperties.getOrDefault(ConfigurationConstants.Producer.MAX_IN_FLIGHT,
+               DEFAULT_MAX_IN_FLIGHT).toString()));
     }
 
     /**
@@ -72,6 +91,58 @@ public class MessageProducerSystem {
         this.producer.sendMessage(message);
     }
 
+    /**
+     * Method to send a message with a key to the messaging system
+     * @param key The key of the message
+     * @param message The message object
+     */
+    public void sendMessage(String key, Message message){
+        message.buildMessage();
+        this.producer.sendMessage(key, message);
+    }
+
+    /**
+     * Method to send a message to the messaging system without waiting for it to be acknowledged. Never blocks; the
+     * returned future fails right away while the maximum number of sends are in flight
+     * @param message The message object
+     * @return Future completed once the message is acknowledged
+     */
+    public CompletableFuture<SendResult> sendMessageAsync(Message message){
+        message.buildMessage();
+        return this.producer.sendMessageAsync(message);
+    }
+
+    /**
+     * Method to send a message with a key to the messaging system without waiting for it to be acknowledged. Never
+     * blocks; the returned future fails right away while the maximum number of sends are in flight
+     * @param key The key of the message
+     * @param message The message object
+     * @return Future completed once the message is acknowledged
+     */
+    public CompletableFuture<SendResult> sendMessageAsync(String key, Message message){
+        message.buildMessage();
+        return this.producer.sendMessageAsync(key, message);
+    }
+
+    /**
+     * Method to send several messages to the messaging system as a single batch
+     * @param messages The message objects, in order
+     */
+    public void sendMessages(List<? extends Message> messages){
+        messages.forEach(Message::buildMessage);
+        this.producer.sendMessages(messages);
+    }
+
+    /**
+     * Method to send several messages with a key to the messaging system as a single batch
+     * @param key The key of the messages
+     * @param messages The message objects, in order
+     */
+    public void sendMessages(String key, List<? extends Message> messages){
+        messages.forEach(Message::buildMessage);
+        this.producer.sendMessages(key, messages);
+    }
+
     /**
      * Method to close the producer instance
      */
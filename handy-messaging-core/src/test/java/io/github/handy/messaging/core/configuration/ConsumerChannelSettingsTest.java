@@ -0,0 +1,214 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.configuration;
+
+import io.github.handy.messaging.interfaces.PayloadCodecs;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ConsumerChannelSettingsTest {
+
+    private Profile getProfile(Map<String, Object> additionalProps){
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, 10);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 1000);
+            putAll(additionalProps);
+        }});
+        return new Profile.ProfileBuilder()
+                .setProfileName("profile1")
+                .setSystem("memcell-mq")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile();
+    }
+
+    @Test
+    public void verifyDefaultSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>()));
+        Assert.assertEquals(10, settings.getMaxMessagesPerBatch());
+        Assert.assertEquals(1000, settings.getMaxPollIntervalMillis());
+        Assert.assertEquals(WorkerPoolMode.PER_MESSAGE, settings.getWorkerPoolMode());
+        Assert.assertEquals(ConsumerChannelSettings.DEFAULT_WORKER_POOL_SIZE, settings.getWorkerPoolSize());
+        Assert.assertFalse(settings.isElasticWorkerPool());
+        Assert.assertEquals(0, settings.getPrefetchCapacity());
+        Assert.assertEquals(DispatchMode.BATCH, settings.getDispatchMode());
+        Assert.assertEquals(10, settings.getMaxInFlight());
+        Assert.assertEquals(0, settings.getTransactionGroupLanes());
+        Assert.assertEquals(10, settings.getDispatchLimit());
+        Assert.assertFalse(settings.isAdaptiveBatchEnabled());
+        Assert.assertEquals(ConsumerChannelSettings.DEFAULT_BUFFER_CAPACITY, settings.getBufferCapacity());
+        Assert.assertEquals(DeserializationMode.EAGER, settings.getDeserializationMode());
+        Assert.assertEquals(OrderingMode.TRANSACTION_GROUP, settings.getOrderingMode());
+    }
+
+    @Test
+    public void verifyPartitionOrderingSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.ORDERING_MODE, "partition");
+        }}));
+        Assert.assertEquals(OrderingMode.PARTITION, settings.getOrderingMode());
+    }
+
+    @Test
+    public void verifyLazyDeserializationSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.DESERIALIZATION_MODE, "lazy");
+        }}));
+        Assert.assertEquals(DeserializationMode.LAZY, settings.getDeserializationMode());
+    }
+
+    @Test
+    public void verifyWorkerPoolSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.WORKER_POOL_MODE, "pooled");
+            put(ConfigurationConstants.Consumer.WORKER_POOL_SIZE, 4);
+            put(ConfigurationConstants.Consumer.WORKER_POOL_MAX_SIZE, 8);
+        }}));
+        Assert.assertEquals(WorkerPoolMode.POOLED, settings.getWorkerPoolMode());
+        Assert.assertEquals(4, settings.getWorkerPoolSize());
+        Assert.assertEquals(8, settings.getWorkerPoolMaxSize());
+        Assert.assertTrue(settings.isElasticWorkerPool());
+    }
+
+    @Test
+    public void verifyVirtualThreadSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.WORKER_POOL_MODE, "virtual-thread");
+            put(ConfigurationConstants.Consumer.VIRTUAL_THREAD_MAX_CONCURRENCY, 1000);
+        }}));
+        Assert.assertEquals(WorkerPoolMode.VIRTUAL_THREAD, settings.getWorkerPoolMode());
+        Assert.assertEquals(1000, settings.getVirtualThreadMaxConcurrency());
+    }
+
+    @Test
+    public void verifyPrefetchSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.PREFETCH_DEPTH, 2);
+        }}));
+        Assert.assertEquals(2, settings.getPrefetchDepth());
+        Assert.assertEquals(20, settings.getPrefetchCapacity());
+    }
+
+    @Test
+    public void verifyContinuousDispatchSettings(){
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.DISPATCH_MODE, "continuous");
+            put(ConfigurationConstants.Consumer.MAX_IN_FLIGHT, 50);
+        }}));
+        Assert.assertEquals(DispatchMode.CONTINUOUS, settings.getDispatchMode());
+        Assert.assertEquals(50, settings.getMaxInFlight());
+        Assert.assertEquals(50, settings.getAsyncMaxOutstanding());
+    }
+
+    @Test
+    public void verifyFlowControlSettings(){
+        ConsumerChannelSettings defaultSettings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>()));
+        Assert.assertEquals(defaultSettings.getBufferCapacity() - 10, defaultSettings.getFlowControlHighWatermark());
+        Assert.assertEquals((defaultSettings.getBufferCapacity() - 10) / 2, defaultSettings.getFlowControlLowWatermark());
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.FLOW_CONTROL_HIGH_WATERMARK, 100);
+            put(ConfigurationConstants.Consumer.FLOW_CONTROL_LOW_WATERMARK, 20);
+        }}));
+        Assert.assertEquals(100, settings.getFlowControlHighWatermark());
+        Assert.assertEquals(20, settings.getFlowControlLowWatermark());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void verifyInvalidFlowControlWatermarks(){
+        ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.FLOW_CONTROL_HIGH_WATERMARK, 10);
+            put(ConfigurationConstants.Consumer.FLOW_CONTROL_LOW_WATERMARK, 10);
+        }}));
+    }
+
+    @Test
+    public void verifyDecompressionSettings(){
+        ConsumerChannelSettings defaultSettings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>()));
+        Assert.assertFalse(defaultSettings.isDecompressionEnabled());
+        Assert.assertEquals(PayloadCodecs.DEFAULT_MAX_DECOMPRESSED_SIZE, defaultSettings.getDecompressionMaxSize());
+        ConsumerChannelSettings settings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.DECOMPRESSION_ENABLED, true);
+            put(ConfigurationConstants.Consumer.DECOMPRESSION_MAX_SIZE, 4096);
+        }}));
+        Assert.assertTrue(settings.isDecompressionEnabled());
+        Assert.assertEquals(4096, settings.getDecompressionMaxSize());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void verifyHighWatermarkAboveBufferCapacityRejected(){
+        ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.BUFFER_CAPACITY, 1024);
+            put(ConfigurationConstants.Consumer.FLOW_CONTROL_HIGH_WATERMARK, 2048);
+        }}));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void verifyHighWatermarkWithoutBatchHeadroomRejected(){
+        ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.BUFFER_CAPACITY, 100);
+            put(ConfigurationConstants.Consumer.FLOW_CONTROL_HIGH_WATERMARK, 95);
+        }}));
+    }
+
+    @Test
+    public void verifyInitialDispatchLimitWithinAdaptiveBounds(){
+        ConsumerChannelSettings fixedSettings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.DISPATCH_LIMIT, 50);
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_MAX_SIZE, 20);
+        }}));
+        Assert.assertEquals(50, fixedSettings.getInitialDispatchLimit());
+        ConsumerChannelSettings aboveMaxSettings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_ENABLED, true);
+            put(ConfigurationConstants.Consumer.DISPATCH_LIMIT, 50);
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_MAX_SIZE, 20);
+        }}));
+        Assert.assertEquals(20, aboveMaxSettings.getInitialDispatchLimit());
+        ConsumerChannelSettings belowMinSettings = ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_ENABLED, true);
+            put(ConfigurationConstants.Consumer.DISPATCH_LIMIT, 2);
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_MIN_SIZE, 5);
+        }}));
+        Assert.assertEquals(5, belowMinSettings.getInitialDispatchLimit());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void verifyAdaptiveBatchRejectedInContinuousMode(){
+        ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.DISPATCH_MODE, "continuous");
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_ENABLED, true);
+        }}));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void verifyInvalidWorkerPoolSize(){
+        ConsumerChannelSettings.fromProfile(getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.WORKER_POOL_SIZE, 4);
+            put(ConfigurationConstants.Consumer.WORKER_POOL_MAX_SIZE, 2);
+        }}));
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveBatchControllerTest {
+
+    @Test
+    public void batchSizeGrowsWithinTargetLatencyTest(){
+        AdaptiveBatchController controller = new AdaptiveBatchController(10, 1, 100, 1000);
+        Assert.assertEquals(15, controller.onBatchCompleted(10, TimeUnit.MILLISECONDS.toNanos(100)));
+        Assert.assertEquals(20, controller.onBatchCompleted(15, TimeUnit.MILLISECONDS.toNanos(100)));
+        Assert.assertEquals(150, controller.getThroughput(), 0.01);
+    }
+
+    @Test
+    public void batchSizeHeldForPartialBatchesTest(){
+        AdaptiveBatchController controller = new AdaptiveBatchController(10, 1, 100, 1000);
+        Assert.assertEquals(10, controller.onBatchCompleted(4, TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void batchSizeShrinksOverTargetLatencyTest(){
+        AdaptiveBatchController controller = new AdaptiveBatchController(40, 4, 100, 1000);
+        Assert.assertEquals(20, controller.onBatchCompleted(40, TimeUnit.MILLISECONDS.toNanos(3000)));
+        Assert.assertEquals(10, controller.onBatchCompleted(20, TimeUnit.MILLISECONDS.toNanos(1500)));
+        Assert.assertEquals(5, controller.onBatchCompleted(10, TimeUnit.MILLISECONDS.toNanos(1000)));
+        Assert.assertEquals(4, controller.onBatchCompleted(5, TimeUnit.MILLISECONDS.toNanos(1000)));
+    }
+}
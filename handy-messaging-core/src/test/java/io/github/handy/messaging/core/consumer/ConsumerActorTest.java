@@ -0,0 +1,147 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.testkit.TestActorRef;
+import akka.testkit.TestKit;
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.ConsumerProperties;
+import io.github.handy.messaging.core.configuration.Profile;
+import io.github.handy.messaging.interfaces.EnqueueMessage;
+import io.github.handy.messaging.interfaces.EnqueueMessages;
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import scala.concurrent.duration.FiniteDuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class ConsumerActorTest {
+
+    static ActorSystem system = ActorSystem.create();
+    TestKit rootActorProbe = new TestKit(system);
+    TestKit subscriberActorProbe = new TestKit(system);
+    MockedStatic<ConsumerBuilderMap> consumerBuilderMapMock;
+    ActorRef consumerActor;
+
+    @Before
+    public void setup(){
+        ConsumerBuilderMap builderMap = Mockito.mock(ConsumerBuilderMap.class);
+        this.consumerBuilderMapMock = Mockito.mockStatic(ConsumerBuilderMap.class);
+        when(ConsumerBuilderMap.getInstance()).thenReturn(builderMap);
+        when(builderMap.getConsumerBuilder(any())).thenReturn(TestConsumerBuilder.class.getName());
+        TestConsumerBuilder.startPollingCount.set(0);
+        TestConsumerBuilder.stopPollingCount.set(0);
+
+        Profile profile = getProfile();
+        this.consumerActor = TestActorRef.create(system, ConsumerActor.getActorProperties(profile,
+                rootActorProbe.testActor(),
+                "test-queue",
+                SimpleMessage.class.getName(),
+                "CHANNEL-PROFILE1-TEST",
+                ConsumerChannelSettings.fromProfile(profile)));
+        rootActorProbe.expectMsgClass(ConsumerActor.ConsumerInitialized.class);
+        consumerActor.tell(new ConsumerActor.SubscriptionRequest(subscriberActorProbe.testActor()),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(ConsumerActor.SubscriptionAck.class);
+    }
+
+    @After
+    public void tearDown(){
+        this.consumerBuilderMapMock.close();
+    }
+
+    private Profile getProfile(){
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, 10);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 200);
+        }});
+        return new Profile.ProfileBuilder()
+                .setProfileName("profile1")
+                .setSystem("test-consumer")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile();
+    }
+
+    @Test
+    public void pollDeadlineTest(){
+        consumerActor.tell(new ConsumerActor.PollData(3), subscriberActorProbe.testActor());
+        ConsumerActor.DataAvailable dataAvailable = subscriberActorProbe.expectMsgClass(ConsumerActor.DataAvailable.class);
+        Assert.assertTrue(dataAvailable.messageCollection.isEmpty());
+        Assert.assertEquals(1, TestConsumerBuilder.startPollingCount.get());
+        Assert.assertEquals(1, TestConsumerBuilder.stopPollingCount.get());
+    }
+
+    @Test
+    public void flushCancelsPollDeadlineTest(){
+        consumerActor.tell(new ConsumerActor.PollData(2), subscriberActorProbe.testActor());
+        consumerActor.tell(new EnqueueMessage(new SimpleMessage()), ActorRef.noSender());
+        consumerActor.tell(new EnqueueMessage(new SimpleMessage()), ActorRef.noSender());
+        ConsumerActor.DataAvailable dataAvailable = subscriberActorProbe.expectMsgClass(ConsumerActor.DataAvailable.class);
+        Assert.assertEquals(2, dataAvailable.messageCollection.size());
+        subscriberActorProbe.expectNoMessage(FiniteDuration.apply(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void bulkEnqueueTest(){
+        consumerActor.tell(new ConsumerActor.PollData(3), subscriberActorProbe.testActor());
+        List<Message> messages = new ArrayList<>();
+        for(int i = 0; i < 5; i++){
+            messages.add(new SimpleMessage());
+        }
+        consumerActor.tell(new EnqueueMessages(messages), ActorRef.noSender());
+        ConsumerActor.DataAvailable dataAvailable = subscriberActorProbe.expectMsgClass(ConsumerActor.DataAvailable.class);
+        Assert.assertEquals(3, dataAvailable.messageCollection.size());
+        consumerActor.tell(new ConsumerActor.GetBufferStats(), subscriberActorProbe.testActor());
+        ConsumerActor.BufferStats bufferStats = subscriberActorProbe.expectMsgClass(ConsumerActor.BufferStats.class);
+        Assert.assertEquals(2, bufferStats.getBufferedMessages());
+    }
+
+    @Test
+    public void bufferStatsTest(){
+        consumerActor.tell(new EnqueueMessage(new SimpleMessage()), ActorRef.noSender());
+        consumerActor.tell(new EnqueueMessage(new SimpleMessage()), ActorRef.noSender());
+        consumerActor.tell(new ConsumerActor.GetBufferStats(), subscriberActorProbe.testActor());
+        ConsumerActor.BufferStats bufferStats = subscriberActorProbe.expectMsgClass(ConsumerActor.BufferStats.class);
+        Assert.assertEquals(2, bufferStats.getBufferedMessages());
+        Assert.assertEquals(2, bufferStats.getHighWaterMark());
+        Assert.assertEquals(ConsumerChannelSettings.DEFAULT_BUFFER_CAPACITY, bufferStats.getCapacity());
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.handy.messaging.core.consumer;
+
+import io.github.handy.messaging.interfaces.FlowController;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlowControllerTest {
+
+    @Test
+    public void tryAcquireUpToCapacityTest(){
+        FlowController flowController = new FlowController(6, 2, 8);
+        Assert.assertEquals(5, flowController.tryAcquire(5));
+        Assert.assertFalse(flowController.isPaused());
+        Assert.assertEquals(3, flowController.tryAcquire(5));
+        Assert.assertTrue(flowController.isPaused());
+        Assert.assertEquals(0, flowController.getRemainingCapacity());
+        Assert.assertEquals(0, flowController.tryAcquire(1));
+        Assert.assertEquals(8, flowController.getOutstandingMessages());
+    }
+
+    @Test
+    public void tryAcquireAfterReleaseTest(){
+        FlowController flowController = new FlowController(6, 2, 8);
+        flowController.tryAcquire(8);
+        flowController.release(4);
+        Assert.assertTrue(flowController.isPaused());
+        Assert.assertEquals(4, flowController.tryAcquire(10));
+        flowController.release(6);
+        Assert.assertFalse(flowController.isPaused());
+        Assert.assertEquals(6, flowController.getRemainingCapacity());
+    }
+}
@@ -26,10 +26,17 @@ package io.github.handy.messaging.core.consumer;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.testkit.TestKit;
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.ConsumerProperties;
+import io.github.handy.messaging.core.configuration.Profile;
 import io.github.handy.messaging.core.consumer.dispatcher.MessageChannelDispatcherActor;
 import io.github.handy.messaging.interfaces.Message;
+import org.junit.Assert;
 import org.junit.Test;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -47,7 +54,27 @@ public class MessageChannelSubscriberActorTest {
         this.subscriberActor = system.actorOf(MessageChannelSubscriberActor.getActorProperties(getChannelId(),
                 this.rootActorProbe.testActor(),
                 this.publisherActorProbe.testActor(),
-                this.dispatcherActorProbe.testActor()));
+                this.dispatcherActorProbe.testActor(),
+                ConsumerChannelSettings.fromProfile(getProfile())));
+    }
+
+    private Profile getProfile(){
+        return getProfile(new HashMap<>());
+    }
+
+    private Profile getProfile(Map<String, Object> additionalProps){
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, 10);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 1000);
+            put(ConfigurationConstants.Consumer.DISPATCH_LIMIT, 4);
+            putAll(additionalProps);
+        }});
+        return new Profile.ProfileBuilder()
+                .setProfileName("profile1")
+                .setSystem("memcell-mq")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile();
     }
 
     private String getChannelId(){
@@ -73,7 +100,8 @@ public class MessageChannelSubscriberActorTest {
     public void emptyDataReceivedTest(){
         ConsumerActor.DataAvailable dataAvailable = new ConsumerActor.DataAvailable(UUID.randomUUID(), new ArrayList<>());
         subscriberActor.tell(dataAvailable, this.publisherActorProbe.testActor());
-        this.publisherActorProbe.expectMsgClass(ConsumerActor.PollData.class);
+        ConsumerActor.PollData pollData = this.publisherActorProbe.expectMsgClass(ConsumerActor.PollData.class);
+        Assert.assertEquals(4, pollData.msgLimit);
     }
 
     @Test
@@ -86,6 +114,33 @@ public class MessageChannelSubscriberActorTest {
         this.dispatcherActorProbe.expectMsgClass(MessageChannelDispatcherActor.DispatchMessages.class);
     }
 
+    @Test
+    public void messagesRequestedTest(){
+        subscriberActor.tell(new MessageChannelDispatcherActor.RequestMessages(5), this.dispatcherActorProbe.testActor());
+        ConsumerActor.PollData pollData = this.publisherActorProbe.expectMsgClass(ConsumerActor.PollData.class);
+        Assert.assertEquals(4, pollData.msgLimit);
+    }
+
+    @Test
+    public void pollWithinAdaptiveBoundsTest(){
+        Profile profile = getProfile(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.DISPATCH_LIMIT, 50);
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_ENABLED, true);
+            put(ConfigurationConstants.Consumer.ADAPTIVE_BATCH_MAX_SIZE, 20);
+        }});
+        ConsumerChannelSettings channelSettings = ConsumerChannelSettings.fromProfile(profile);
+        Assert.assertEquals(20, channelSettings.getInitialDispatchLimit());
+        ActorRef adaptiveSubscriberActor = system.actorOf(MessageChannelSubscriberActor.getActorProperties(getChannelId(),
+                this.rootActorProbe.testActor(),
+                this.publisherActorProbe.testActor(),
+                this.dispatcherActorProbe.testActor(),
+                channelSettings));
+        adaptiveSubscriberActor.tell(new ConsumerActor.DataAvailable(UUID.randomUUID(), new ArrayList<>()),
+                this.publisherActorProbe.testActor());
+        ConsumerActor.PollData pollData = this.publisherActorProbe.expectMsgClass(ConsumerActor.PollData.class);
+        Assert.assertEquals(channelSettings.getInitialDispatchLimit(), pollData.msgLimit);
+    }
+
     private Message getDummyMessage(){
         return new Message() {
             @Override
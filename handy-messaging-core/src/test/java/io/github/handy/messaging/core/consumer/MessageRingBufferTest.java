@@ -0,0 +1,88 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer;
+
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MessageRingBufferTest {
+
+    private List<Message> getMessages(int count){
+        List<Message> messages = new ArrayList<>();
+        for(int idx = 0; idx < count; idx++){
+            messages.add(new SimpleMessage());
+        }
+        return messages;
+    }
+
+    @Test
+    public void drainInOrderTest(){
+        MessageRingBuffer buffer = new MessageRingBuffer(4);
+        List<Message> messages = getMessages(6);
+        buffer.add(messages.get(0));
+        buffer.add(messages.get(1));
+        buffer.add(messages.get(2));
+        Assert.assertEquals(messages.subList(0, 2), buffer.drain(2));
+        buffer.add(messages.get(3));
+        buffer.add(messages.get(4));
+        buffer.add(messages.get(5));
+        Assert.assertEquals(4, buffer.size());
+        Assert.assertEquals(4, buffer.capacity());
+        Assert.assertEquals(messages.subList(2, 6), buffer.drain(10));
+        Assert.assertEquals(0, buffer.size());
+        Assert.assertEquals(4, buffer.getHighWaterMark());
+    }
+
+    @Test
+    public void equalMessagesDrainedOnceTest(){
+        MessageRingBuffer buffer = new MessageRingBuffer(4);
+        Message message = new SimpleMessage();
+        buffer.add(message);
+        buffer.add(message);
+        buffer.add(message);
+        Assert.assertEquals(2, buffer.drain(2).size());
+        Assert.assertEquals(1, buffer.size());
+    }
+
+    @Test
+    public void rejectWhenFullTest(){
+        MessageRingBuffer buffer = new MessageRingBuffer(2);
+        List<Message> messages = getMessages(4);
+        buffer.add(messages.get(0));
+        buffer.add(messages.get(1));
+        Assert.assertEquals(0, buffer.remainingCapacity());
+        Assert.assertThrows(IllegalStateException.class, () -> buffer.add(messages.get(2)));
+        Assert.assertEquals(2, buffer.capacity());
+        buffer.drain(1);
+        buffer.add(messages.get(3));
+        Assert.assertEquals(List.of(messages.get(1), messages.get(3)), buffer.drain(2));
+        Assert.assertEquals(2, buffer.getHighWaterMark());
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer;
+
+import akka.actor.ActorRef;
+import io.github.handy.messaging.core.Constants;
+import io.github.handy.messaging.interfaces.Consumer;
+import io.github.handy.messaging.interfaces.ConsumerBuilder;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestConsumerBuilder implements ConsumerBuilder {
+
+    static AtomicInteger startPollingCount = new AtomicInteger();
+    static AtomicInteger stopPollingCount = new AtomicInteger();
+
+    private Map<String, Object> properties;
+
+    @Override
+    public ConsumerBuilder setConsumerProperties(Map<String, Object> properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    @Override
+    public String getQueueName() {
+        return this.properties.get(Constants.QUEUE_NAME).toString();
+    }
+
+    @Override
+    public String getMessageTypeClass() {
+        return this.properties.get(Constants.MESSAGE_TYPE_CLASS).toString();
+    }
+
+    @Override
+    public ActorRef getConsumerActor() {
+        return (ActorRef) this.properties.get(Constants.CONSUMER_ACTOR);
+    }
+
+    @Override
+    public Consumer build() {
+        return new Consumer(this.getConsumerActor()) {
+            @Override
+            public void startPolling() {
+                startPollingCount.incrementAndGet();
+            }
+
+            @Override
+            public void stopPolling() {
+                stopPollingCount.incrementAndGet();
+            }
+
+            @Override
+            protected String getMessageTypeClass() {
+                return TestConsumerBuilder.this.getMessageTypeClass();
+            }
+        };
+    }
+}
@@ -0,0 +1,329 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer.dispatcher;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.testkit.TestKit;
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.ConsumerProperties;
+import io.github.handy.messaging.core.configuration.DispatchMode;
+import io.github.handy.messaging.core.configuration.Profile;
+import io.github.handy.messaging.core.configuration.WorkerPoolMode;
+import io.github.handy.messaging.interfaces.AsyncMessageHandler;
+import io.github.handy.messaging.interfaces.BatchMessageHandler;
+import io.github.handy.messaging.interfaces.LazyMessage;
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.MessageHandler;
+import io.github.handy.messaging.interfaces.PartitionedMessage;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.junit.Assert;
+import org.junit.Test;
+import scala.concurrent.duration.FiniteDuration;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MessageChannelDispatcherActorTest {
+
+    static ActorSystem system = ActorSystem.create();
+    TestKit subscriberActorProbe = new TestKit(system);
+    ConcurrentLinkedQueue<String> handledMessageIds = new ConcurrentLinkedQueue<>();
+    ConcurrentLinkedQueue<Integer> handledBatchSizes = new ConcurrentLinkedQueue<>();
+
+    private Profile getProfile(WorkerPoolMode workerPoolMode, DispatchMode dispatchMode){
+        return getProfile(workerPoolMode, dispatchMode, new HashMap<>());
+    }
+
+    private Profile getProfile(WorkerPoolMode workerPoolMode, DispatchMode dispatchMode, Map<String, Object> additionalProps){
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, 3);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 1000);
+            put(ConfigurationConstants.Consumer.WORKER_POOL_MODE, workerPoolMode.getConfigValue());
+            put(ConfigurationConstants.Consumer.WORKER_POOL_SIZE, 2);
+            put(ConfigurationConstants.Consumer.DISPATCH_MODE, dispatchMode.getConfigValue());
+            put(ConfigurationConstants.Consumer.MAX_IN_FLIGHT, 5);
+            put(ConfigurationConstants.Consumer.TRANSACTION_GROUP_LANES, 2);
+            put(ConfigurationConstants.Consumer.ASYNC_MAX_OUTSTANDING, 2);
+            putAll(additionalProps);
+        }});
+        return new Profile.ProfileBuilder()
+                .setProfileName("profile1")
+                .setSystem("memcell-mq")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile();
+    }
+
+    private ActorRef getDispatcherActor(WorkerPoolMode workerPoolMode){
+        return getDispatcherActor(workerPoolMode, DispatchMode.BATCH);
+    }
+
+    private ActorRef getDispatcherActor(WorkerPoolMode workerPoolMode, DispatchMode dispatchMode){
+        return getDispatcherActor(workerPoolMode, dispatchMode, new MessageHandler() {
+            @Override
+            public void handleMessage(Message msg) {
+                handledMessageIds.add(msg.getId());
+            }
+
+            @Override
+            public Optional<MessageHandler> getNewInstance() {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private ActorRef getDispatcherActor(WorkerPoolMode workerPoolMode, DispatchMode dispatchMode, MessageHandler messageHandler){
+        ActorRef dispatcherActor = system.actorOf(MessageChannelDispatcherActor.getActorProperties(
+                String.format("CHANNEL-PROFILE1-%s", UUID.randomUUID()),
+                messageHandler,
+                ConsumerChannelSettings.fromProfile(getProfile(workerPoolMode, dispatchMode))));
+        dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(subscriberActorProbe.testActor()),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.SubscriberRegistered.class);
+        return dispatcherActor;
+    }
+
+    private BatchMessageHandler getBatchMessageHandler(boolean failing){
+        return new BatchMessageHandler() {
+            @Override
+            public void handleMessages(List<Message> msgs) {
+                handledBatchSizes.add(msgs.size());
+                msgs.forEach(msg -> handledMessageIds.add(msg.getId()));
+                if(failing){
+                    throw new RuntimeException("Batch failed");
+                }
+            }
+
+            @Override
+            public Optional<MessageHandler> getNewInstance() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    private List<Message> getMessages(int count, Optional<String> transactionGroupId){
+        List<Message> messages = new ArrayList<>();
+        for(int idx = 0; idx < count; idx++){
+            SimpleMessage message = new SimpleMessage()
+                    .setMessageId(String.format("message-%s", idx))
+                    .setSender("test")
+                    .setContentSchema("test")
+                    .setPayload(new byte[0]);
+            transactionGroupId.ifPresent(message::setTransactionGroupId);
+            message.buildMessage();
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private void verifyDispatch(ActorRef dispatcherActor, List<Message> messages){
+        UUID sessionId = UUID.randomUUID();
+        dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(sessionId, messages),
+                subscriberActorProbe.testActor());
+        MessageChannelDispatcherActor.DispatchCompleted dispatchCompleted = subscriberActorProbe
+                .expectMsgClass(MessageChannelDispatcherActor.DispatchCompleted.class);
+        Assert.assertEquals(sessionId, dispatchCompleted.sessionId);
+        Assert.assertEquals(messages.size(), handledMessageIds.size());
+        handledMessageIds.clear();
+    }
+
+    @Test
+    public void processedMessagesReportedToConsumerTest(){
+        TestKit consumerActorProbe = new TestKit(system);
+        ActorRef dispatcherActor = system.actorOf(MessageChannelDispatcherActor.getActorProperties(
+                String.format("CHANNEL-PROFILE1-%s", UUID.randomUUID()),
+                getBatchMessageHandler(false),
+                ConsumerChannelSettings.fromProfile(getProfile(WorkerPoolMode.POOLED, DispatchMode.BATCH))));
+        dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(subscriberActorProbe.testActor(),
+                consumerActorProbe.testActor()), subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.SubscriberRegistered.class);
+        List<Message> messages = getMessages(3, Optional.empty());
+        verifyDispatch(dispatcherActor, messages);
+        MessageChannelDispatcherActor.MessagesProcessed messagesProcessed = consumerActorProbe
+                .expectMsgClass(MessageChannelDispatcherActor.MessagesProcessed.class);
+        Assert.assertEquals(messages, messagesProcessed.getMessages());
+        handledBatchSizes.clear();
+    }
+
+    @Test
+    public void perMessageWorkerDispatchTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.PER_MESSAGE);
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.empty()));
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.of("group-1")));
+    }
+
+    @Test
+    public void pooledWorkerDispatchTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.POOLED);
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.empty()));
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.of("group-1")));
+    }
+
+    @Test
+    public void virtualThreadDispatchTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.VIRTUAL_THREAD);
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.empty()));
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.of("group-1")));
+    }
+
+    @Test
+    public void continuousDispatchTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.POOLED, DispatchMode.CONTINUOUS);
+        dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(UUID.randomUUID(),
+                getMessages(2, Optional.of("group-1"))), subscriberActorProbe.testActor());
+        MessageChannelDispatcherActor.RequestMessages requestMessages = subscriberActorProbe
+                .expectMsgClass(MessageChannelDispatcherActor.RequestMessages.class);
+        Assert.assertEquals(3, requestMessages.getMessageLimit());
+        subscriberActorProbe.expectNoMessage(FiniteDuration.apply(500, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(2, handledMessageIds.size());
+        dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(UUID.randomUUID(),
+                getMessages(3, Optional.empty())), subscriberActorProbe.testActor());
+        requestMessages = subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.RequestMessages.class);
+        Assert.assertTrue(requestMessages.getMessageLimit() > 0);
+    }
+
+    @Test
+    public void transactionGroupOrderAcrossBatchesTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.POOLED, DispatchMode.CONTINUOUS);
+        List<Message> firstBatch = getMessages(3, Optional.of("group-1"));
+        List<Message> secondBatch = getMessages(2, Optional.of("group-1"));
+        dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(UUID.randomUUID(), firstBatch),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.RequestMessages.class);
+        dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(UUID.randomUUID(), secondBatch),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.RequestMessages.class);
+        List<String> expectedOrder = new ArrayList<>();
+        firstBatch.forEach(message -> expectedOrder.add(message.getId()));
+        secondBatch.forEach(message -> expectedOrder.add(message.getId()));
+        subscriberActorProbe.expectNoMessage(FiniteDuration.apply(500, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(expectedOrder, new ArrayList<>(handledMessageIds));
+    }
+
+    @Test
+    public void partitionOrderingDispatchTest(){
+        ConcurrentLinkedQueue<Message> handledMessages = new ConcurrentLinkedQueue<>();
+        ActorRef dispatcherActor = system.actorOf(MessageChannelDispatcherActor.getActorProperties(
+                String.format("CHANNEL-PROFILE1-%s", UUID.randomUUID()),
+                new MessageHandler() {
+                    @Override
+                    public void handleMessage(Message msg) {
+                        handledMessages.add(msg);
+                        handledMessageIds.add(msg.getId());
+                    }
+
+                    @Override
+                    public Optional<MessageHandler> getNewInstance() {
+                        return Optional.empty();
+                    }
+                },
+                ConsumerChannelSettings.fromProfile(getProfile(WorkerPoolMode.POOLED, DispatchMode.BATCH,
+                        Map.of(ConfigurationConstants.Consumer.ORDERING_MODE, "partition")))));
+        dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(subscriberActorProbe.testActor()),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.SubscriberRegistered.class);
+        List<Message> messages = new ArrayList<>();
+        getMessages(4, Optional.empty()).forEach(message -> messages.add(new PartitionedMessage(message,
+                String.format("topic-%s", Integer.parseInt(message.getId().substring("message-".length())) % 2))));
+        verifyDispatch(dispatcherActor, messages);
+        Assert.assertTrue(handledMessages.stream().noneMatch(message -> message instanceof PartitionedMessage));
+        List<String> handledIds = new ArrayList<>();
+        handledMessages.forEach(message -> handledIds.add(message.getId()));
+        Assert.assertTrue(handledIds.indexOf("message-0") < handledIds.indexOf("message-2"));
+        Assert.assertTrue(handledIds.indexOf("message-1") < handledIds.indexOf("message-3"));
+    }
+
+    @Test
+    public void batchMessageHandlerDispatchTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.POOLED, DispatchMode.BATCH,
+                getBatchMessageHandler(false));
+        List<Message> messages = getMessages(3, Optional.empty());
+        messages.addAll(getMessages(2, Optional.of("group-1")));
+        verifyDispatch(dispatcherActor, messages);
+        List<Integer> batchSizes = new ArrayList<>(handledBatchSizes);
+        Collections.sort(batchSizes);
+        Assert.assertEquals(List.of(2, 3), batchSizes);
+    }
+
+    @Test
+    public void failedBatchCompletesDispatchTest(){
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.PER_MESSAGE, DispatchMode.BATCH,
+                getBatchMessageHandler(true));
+        verifyDispatch(dispatcherActor, getMessages(3, Optional.of("group-1")));
+        Assert.assertEquals(List.of(3), new ArrayList<>(handledBatchSizes));
+    }
+
+    @Test
+    public void asyncMessageHandlerOutstandingLimitTest(){
+        AtomicInteger outstandingMessages = new AtomicInteger();
+        AtomicInteger peakOutstandingMessages = new AtomicInteger();
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.PER_MESSAGE, DispatchMode.BATCH, new AsyncMessageHandler() {
+            @Override
+            public CompletionStage<Void> handleMessageAsync(Message msg) {
+                peakOutstandingMessages.accumulateAndGet(outstandingMessages.incrementAndGet(), Math::max);
+                return CompletableFuture.runAsync(() -> {
+                    handledMessageIds.add(msg.getId());
+                    outstandingMessages.decrementAndGet();
+                }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+            }
+
+            @Override
+            public Optional<MessageHandler> getNewInstance() {
+                return Optional.empty();
+            }
+        });
+        verifyDispatch(dispatcherActor, getMessages(5, Optional.empty()));
+        Assert.assertEquals(2, peakOutstandingMessages.get());
+    }
+
+    @Test
+    public void lazyMessagesDeserializedByWorkerTest(){
+        ConcurrentLinkedQueue<Class<?>> handledMessageTypes = new ConcurrentLinkedQueue<>();
+        ActorRef dispatcherActor = getDispatcherActor(WorkerPoolMode.POOLED, DispatchMode.BATCH, new MessageHandler() {
+            @Override
+            public void handleMessage(Message msg) {
+                handledMessageTypes.add(msg.getClass());
+                handledMessageIds.add(msg.getId());
+            }
+
+            @Override
+            public Optional<MessageHandler> getNewInstance() {
+                return Optional.empty();
+            }
+        });
+        List<Message> lazyMessages = new ArrayList<>();
+        getMessages(3, Optional.of("group-1")).forEach(message ->
+                lazyMessages.add(new LazyMessage(message.serialize(), SimpleMessage::new, Optional.of("group-1"))));
+        verifyDispatch(dispatcherActor, lazyMessages);
+        Assert.assertEquals(List.of(SimpleMessage.class, SimpleMessage.class, SimpleMessage.class),
+                new ArrayList<>(handledMessageTypes));
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer.dispatcher;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+public class TransactionLanesTest {
+
+    @Test
+    public void lanePerTransactionGroupTest(){
+        TransactionLanes transactionLanes = new TransactionLanes(0);
+        Assert.assertEquals(Optional.of("GROUP-group-1"), transactionLanes.getLane(Optional.of("group-1")));
+        Assert.assertEquals(Optional.empty(), transactionLanes.getLane(Optional.empty()));
+    }
+
+    @Test
+    public void stripedLanesTest(){
+        TransactionLanes transactionLanes = new TransactionLanes(4);
+        Set<Optional<String>> lanes = new HashSet<>();
+        IntStream.range(0, 1000).forEach(idx -> lanes.add(transactionLanes.getLane(Optional.of(String.format("group-%s", idx)))));
+        Assert.assertEquals(4, lanes.size());
+        Assert.assertEquals(transactionLanes.getLane(Optional.of("group-1")), transactionLanes.getLane(Optional.of("group-1")));
+        Assert.assertEquals(Optional.empty(), transactionLanes.getLane(Optional.empty()));
+    }
+
+    @Test
+    public void partitionLanesDoNotCollideWithGroupLanesTest(){
+        TransactionLanes transactionLanes = new TransactionLanes(0);
+        String partitionLane = TransactionLanes.getPartitionLane("test-topic-0");
+        Assert.assertNotEquals(Optional.of(partitionLane), transactionLanes.getLane(Optional.of(partitionLane)));
+        Assert.assertNotEquals(Optional.of(partitionLane), transactionLanes.getLane(Optional.of("test-topic-0")));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.consumer.dispatcher;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.dispatch.Dispatcher;
+import akka.testkit.TestKit;
+import io.github.handy.messaging.core.configuration.ConfigurationConstants;
+import io.github.handy.messaging.core.configuration.ConsumerChannelSettings;
+import io.github.handy.messaging.core.configuration.ConsumerProperties;
+import io.github.handy.messaging.core.configuration.Profile;
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.MessageHandler;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class WorkerDispatchersTest {
+
+    static ActorSystem system = ActorSystem.create();
+    TestKit subscriberActorProbe = new TestKit(system);
+
+    private ConsumerChannelSettings getChannelSettings(Map<String, Object> additionalProps){
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setProps(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.MAX_MSG_PER_BATCH, 3);
+            put(ConfigurationConstants.Consumer.MAX_POLL_INTERVAL_MS, 1000);
+            putAll(additionalProps);
+        }});
+        return ConsumerChannelSettings.fromProfile(new Profile.ProfileBuilder()
+                .setProfileName("profile1")
+                .setSystem("memcell-mq")
+                .setConsumerProperties(consumerProperties)
+                .buildProfile());
+    }
+
+    @Test
+    public void sharedWorkerDispatcherTest(){
+        String dispatcherId = WorkerDispatchers.getWorkerDispatcher(system, "CHANNEL-PROFILE1-SHARED",
+                getChannelSettings(new HashMap<>()));
+        Assert.assertEquals(WorkerDispatchers.SHARED_WORKER_DISPATCHER, dispatcherId);
+    }
+
+    @Test
+    public void isolatedWorkerDispatcherTest(){
+        ConsumerChannelSettings channelSettings = getChannelSettings(new HashMap<>(){{
+            put(ConfigurationConstants.Consumer.WORKER_DISPATCHER_EXECUTOR, "fork-join");
+            put(ConfigurationConstants.Consumer.WORKER_DISPATCHER_POOL_SIZE, 2);
+            put(ConfigurationConstants.Consumer.WORKER_DISPATCHER_THROUGHPUT, 5);
+        }});
+        String dispatcherId = WorkerDispatchers.getWorkerDispatcher(system, "CHANNEL-PROFILE1-ISOLATED", channelSettings);
+        Assert.assertEquals("worker-dispatcher-CHANNEL-PROFILE1-ISOLATED", dispatcherId);
+        Assert.assertTrue(system.dispatchers().hasDispatcher(dispatcherId));
+        Assert.assertEquals(5, ((Dispatcher) system.dispatchers().lookup(dispatcherId)).throughput());
+
+        ConcurrentLinkedQueue<String> handlerThreads = new ConcurrentLinkedQueue<>();
+        ActorRef dispatcherActor = system.actorOf(MessageChannelDispatcherActor.getActorProperties("CHANNEL-PROFILE1-ISOLATED",
+                new MessageHandler() {
+                    @Override
+                    public void handleMessage(Message msg) {
+                        handlerThreads.add(Thread.currentThread().getName());
+                    }
+
+                    @Override
+                    public Optional<MessageHandler> getNewInstance() {
+                        return Optional.empty();
+                    }
+                }, channelSettings, dispatcherId));
+        dispatcherActor.tell(new MessageChannelDispatcherActor.RegisterSubscriber(subscriberActorProbe.testActor()),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.SubscriberRegistered.class);
+        SimpleMessage message = new SimpleMessage()
+                .setMessageId("message-1")
+                .setSender("test")
+                .setContentSchema("test")
+                .setPayload(new byte[0]);
+        message.buildMessage();
+        dispatcherActor.tell(new MessageChannelDispatcherActor.DispatchMessages(UUID.randomUUID(), List.of(message)),
+                subscriberActorProbe.testActor());
+        subscriberActorProbe.expectMsgClass(MessageChannelDispatcherActor.DispatchCompleted.class);
+        Assert.assertEquals(1, handlerThreads.size());
+        Assert.assertTrue(handlerThreads.peek().contains(dispatcherId));
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+
+public class JmxMetricsRegistryTest {
+
+    @Test
+    public void channelMetricsExposedOverJmx() throws Exception {
+        JmxMetricsRegistry registry = new JmxMetricsRegistry();
+        ChannelMetrics metrics = registry.getChannelMetrics("jmx-test-channel");
+        Assert.assertSame(metrics, registry.getChannelMetrics("jmx-test-channel"));
+        metrics.recordFlush(ChannelMetrics.FlushReason.SIZE, 10, 12, 2_000_000);
+        metrics.recordFlush(ChannelMetrics.FlushReason.TIMEOUT, 2, 2, 5_000_000);
+        metrics.recordTaskCompleted(false, 1_000_000, 3_000_000);
+        metrics.recordBufferDepth(12);
+        metrics.recordBufferDepth(0);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = JmxMetricsRegistry.getObjectName("jmx-test-channel");
+        Assert.assertTrue(server.isRegistered(objectName));
+        Assert.assertEquals(1L, server.getAttribute(objectName, "SizeTriggeredFlushes"));
+        Assert.assertEquals(1L, server.getAttribute(objectName, "TimeoutTriggeredFlushes"));
+        Assert.assertEquals(1L, server.getAttribute(objectName, "HandlerErrors"));
+        Assert.assertEquals(0L, server.getAttribute(objectName, "BufferDepth"));
+        Assert.assertEquals(12L, server.getAttribute(objectName, "BufferHighWaterMark"));
+        CompositeData batchSize = (CompositeData) server.getAttribute(objectName, "BatchSize");
+        Assert.assertEquals(2L, batchSize.get("count"));
+        Assert.assertEquals(10L, batchSize.get("max"));
+    }
+}
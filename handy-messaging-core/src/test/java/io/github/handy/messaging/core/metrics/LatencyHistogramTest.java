@@ -0,0 +1,52 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.core.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentilesWithinBucketPrecision(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(long i = 1; i <= 1000; i++){
+            histogram.record(i);
+        }
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(1000, histogram.getMax());
+        Assert.assertEquals(500.5, histogram.getMean(), 0.001);
+        Assert.assertEquals(500, histogram.getPercentile(50), 500 * 0.07);
+        Assert.assertEquals(990, histogram.getPercentile(99), 990 * 0.07);
+    }
+
+    @Test
+    public void emptyHistogramSnapshot(){
+        HistogramSnapshot snapshot = new LatencyHistogram().getSnapshot();
+        Assert.assertEquals(0, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getP99());
+        Assert.assertEquals(0, snapshot.getMax());
+    }
+}
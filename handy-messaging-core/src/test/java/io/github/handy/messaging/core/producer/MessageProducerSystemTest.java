@@ -28,8 +28,10 @@ import io.github.handy.messaging.core.configuration.ConfigurationBootstrap;
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.Producer;
 import io.github.handy.messaging.interfaces.ProducerBuilder;
+import io.github.handy.messaging.interfaces.SendResult;
 import io.github.handy.messaging.types.simplemessage.SimpleMessage;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -42,6 +44,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -77,6 +82,53 @@ public class MessageProducerSystemTest {
 
     }
 
+    @Test
+    public void verifyProducerSendsMessageAsyncTest() throws ClassNotFoundException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        new ConfigurationBootstrap();
+        try(MockedStatic<ProducerBuilderFactory> mockedFactory = Mockito.mockStatic(ProducerBuilderFactory.class)){
+            when(mockedProducerBuilder.build()).thenReturn(mockedProducer);
+            when(ProducerBuilderFactory.getProducerBuilder(any(), any())).thenReturn(mockedProducerBuilder);
+            Message message = getMessage();
+            SendResult sendResult = new SendResult("TEST-QUEUE", message.getId(), Optional.empty());
+            when(mockedProducer.sendMessageAsync(message)).thenReturn(CompletableFuture.completedFuture(sendResult));
+            MessageProducerSystem producerSystem = new MessageProducerSystem("profile3", "TEST-QUEUE");
+            Assertions.assertSame(sendResult, producerSystem.sendMessageAsync(message).join());
+            verify(mockedProducer, times(1)).setMaxInFlight(MessageProducerSystem.DEFAULT_MAX_IN_FLIGHT);
+        }
+    }
+
+    @Test
+    public void verifyAsyncSendRejectedWhenInFlightLimitReached(){
+        when(mockedProducerBuilder.getQueueName()).thenReturn("TEST-QUEUE");
+        CompletableFuture<SendResult> pendingSend = new CompletableFuture<>();
+        Producer producer = new Producer(mockedProducerBuilder) {
+            @Override
+            public void sendMessage(Message message) {
+            }
+
+            @Override
+            public void sendMessage(String key, Message message) {
+            }
+
+            @Override
+            protected CompletableFuture<SendResult> sendAsync(Optional<String> key, Message message) {
+                return pendingSend;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        producer.setMaxInFlight(1);
+        Message message = getMessage();
+        Assertions.assertSame(pendingSend, producer.sendMessageAsync(message));
+        CompletionException rejection = Assertions.assertThrows(CompletionException.class,
+                () -> producer.sendMessageAsync(message).join());
+        Assertions.assertInstanceOf(RejectedExecutionException.class, rejection.getCause());
+        pendingSend.complete(new SendResult("TEST-QUEUE", message.getId(), Optional.empty()));
+        Assertions.assertSame(pendingSend, producer.sendMessageAsync(message));
+    }
+
     private Message getMessage(){
         SimpleMessage contentMsg = new SimpleMessage();
         contentMsg.setContentSchema(String.class.toString());
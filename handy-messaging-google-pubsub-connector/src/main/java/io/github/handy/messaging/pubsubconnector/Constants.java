@@ -40,4 +40,6 @@ public class Constants {
     public static final String CONSUMER_ACTOR = "consumer.actor";
 
     public static final String MESSAGE_TYPE_CLASS = "message.type.class";
+
+    public static final String TRANSACTION_GROUP_ATTRIBUTE = "hmf.transaction.group.id";
 }
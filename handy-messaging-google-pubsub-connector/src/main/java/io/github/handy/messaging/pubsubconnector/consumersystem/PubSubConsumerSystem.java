@@ -26,6 +26,7 @@ package io.github.handy.messaging.pubsubconnector.consumersystem;
 
 import io.github.handy.messaging.interfaces.Consumer;
 import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.pubsubconnector.Constants;
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.api.gax.rpc.TransportChannelProvider;
 import com.google.cloud.pubsub.v1.AckReplyConsumer;
@@ -34,13 +35,18 @@ import com.google.pubsub.v1.PubsubMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
- * PubSubConsumerSystem is a connector wrapper around a Google PubSub consumer
+ * PubSubConsumerSystem is a connector wrapper around a Google PubSub consumer. Pulled messages are handed over to the
+ * channel as far as it has room for them, and acknowledged once handed over. The rest are held on the poll thread,
+ * without pulling more, until the channel drains its buffer
  */
 public class PubSubConsumerSystem extends Consumer {
 
@@ -54,6 +60,8 @@ public class PubSubConsumerSystem extends Consumer {
     private boolean emulatorFlag;
     private ExecutorService pollThreadManager;
     private List<PubSubMsgPackage> polledMessages;
+    private List<PubSubMsgPackage> heldPackages;
+    private List<Message> heldMessages;
     String messageTypeClass;
 
     /**
@@ -68,6 +76,8 @@ public class PubSubConsumerSystem extends Consumer {
         this.emulatorFlag = builder.isEmulatorFlag();
         this.pollThreadManager = Executors.newFixedThreadPool(1);
         polledMessages = new ArrayList<>();
+        this.heldPackages = new ArrayList<>();
+        this.heldMessages = new ArrayList<>();
         this.interruptionFlag = new AtomicBoolean(false);
         this.messageTypeClass = builder.getMessageTypeClass();
 
@@ -91,27 +101,63 @@ public class PubSubConsumerSystem extends Consumer {
         this.pollThreadHandle = this.pollThreadManager.submit(()->{
             LOGGER.info("Processing Thread - "+Thread.currentThread().getName());
             while(!interruptionFlag.get()){
+                this.handOverHeldMessages();
+                if(!this.heldMessages.isEmpty() || this.getFlowController().isPaused()){
+                    this.getFlowController().awaitResume(100, TimeUnit.MILLISECONDS);
+                    continue;
+                }
                 List<PubSubMsgPackage> collectedMessages = pollMessages(500);
-                collectedMessages.stream().map(pubSubMessage -> {
-                    Message msg = this.getMessage(pubSubMessage.getMessage().getData().toByteArray());
-                    return msg;
-                }).forEach(message -> {
-                    super.onMessageReceived(message);
-                });
-
-                collectedMessages.forEach(pubSubMsg -> {
-                    try {
-                        pubSubMsg.getSender().ack();
-                    } catch (Exception ex){
-                        LOGGER.info("ACK FAILED. Reason - "+ex.getMessage());
-                    }
-                });
+                this.heldMessages.addAll(collectedMessages.stream()
+                        .map(pubSubMessage -> this.getMessage(pubSubMessage.getMessage()))
+                        .collect(Collectors.toList()));
+                this.heldPackages.addAll(collectedMessages);
             }
             LOGGER.info("Interrupted");
+            return null;
         });
 
     }
 
+    /**
+     * Hands the held messages over to the channel as far as it has room for them, without blocking the poll thread,
+     * and acknowledges the ones handed over
+     */
+    private void handOverHeldMessages(){
+        List<Message> offeredMessages = this.heldMessages;
+        int handedOverCount = this.offerMessages(offeredMessages);
+        if(handedOverCount == offeredMessages.size()){
+            this.heldMessages = new ArrayList<>();
+        } else {
+            offeredMessages.subList(0, handedOverCount).clear();
+        }
+        List<PubSubMsgPackage> handedOverPackages = this.heldPackages.subList(0, handedOverCount);
+        handedOverPackages.forEach(pubSubMsg -> {
+            try {
+                pubSubMsg.getSender().ack();
+            } catch (Exception ex){
+                LOGGER.info("ACK FAILED. Reason - "+ex.getMessage());
+            }
+        });
+        handedOverPackages.clear();
+    }
+
+    /**
+     * Gets the message of a PubSub message. The producer puts the transaction group id of the message in an attribute,
+     * with an empty value for messages without a transaction group, so that a lazily deserialized message can be routed
+     * without being deserialized. Messages without the attribute, such as messages from other publishers, are
+     * deserialized on the poll thread
+     * @param pubSubMessage PubSub message
+     * @return Message carried by the PubSub message
+     */
+    private Message getMessage(PubsubMessage pubSubMessage){
+        ByteBuffer data = pubSubMessage.getData().asReadOnlyByteBuffer();
+        if(!pubSubMessage.containsAttributes(Constants.TRANSACTION_GROUP_ATTRIBUTE)){
+            return getMessage(data);
+        }
+        String transactionGroupId = pubSubMessage.getAttributesOrThrow(Constants.TRANSACTION_GROUP_ATTRIBUTE);
+        return getMessage(data, transactionGroupId.isEmpty() ? Optional.empty() : Optional.of(transactionGroupId));
+    }
+
     private List<PubSubMsgPackage> pollMessages(long waitDurationMs){
         try {
             this.buildSubscriber();
@@ -26,13 +26,22 @@ package io.github.handy.messaging.pubsubconnector.producersystem;
 
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.Producer;
+import io.github.handy.messaging.pubsubconnector.Constants;
+import io.github.handy.messaging.interfaces.SendResult;
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.pubsub.v1.Publisher;
-import com.google.protobuf.ByteString;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.UnsafeByteOperations;
 import com.google.pubsub.v1.PubsubMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * PubSubProducerSystem is a connector wrapper around a Google PubSub producer
@@ -70,6 +79,49 @@ public class PubSubProducerSystem extends Producer {
         sendMessage(Optional.of(key), message);
     }
 
+    /**
+     * Send several messages to the PubSub topic, letting the publisher batch them and waiting once for the whole batch
+     * @param messages - Messages, in order
+     */
+    @Override
+    public void sendMessages(List<? extends Message> messages) {
+        sendMessages(Optional.empty(), messages);
+    }
+
+    /**
+     * Send several messages to the PubSub topic with a key, letting the publisher batch them and waiting once for the
+     * whole batch
+     * @param key - Key
+     * @param messages - Messages, in order
+     */
+    @Override
+    public void sendMessages(String key, List<? extends Message> messages) {
+        sendMessages(Optional.of(key), messages);
+    }
+
+    /**
+     * Send a message to the PubSub topic, completing the returned future from the publish callback
+     * @param key (Optional) - Key
+     * @param message - Message
+     * @return - Future completed once the message is published
+     */
+    @Override
+    protected CompletableFuture<SendResult> sendAsync(Optional<String> key, Message message) {
+        CompletableFuture<SendResult> sendHandle = new CompletableFuture<>();
+        ApiFutures.addCallback(publisher.publish(buildPubSubMessage(key, message)), new ApiFutureCallback<String>() {
+            @Override
+            public void onFailure(Throwable throwable) {
+                sendHandle.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onSuccess(String publishedMessageId) {
+                sendHandle.complete(getSendResult(key, message));
+            }
+        }, MoreExecutors.directExecutor());
+        return sendHandle;
+    }
+
     /**
      * Send a message to the PubSub topic
      * @param key (Optional) - Key
@@ -77,18 +129,60 @@ public class PubSubProducerSystem extends Producer {
      */
     private void sendMessage(Optional<String> key, Message message) {
         try{
-            PubsubMessage.Builder pubSubMsgBuilder = PubsubMessage
-                    .newBuilder()
-                    .setData(ByteString.copyFrom(message.serialize()));
-            key.ifPresent(pubSubMsgBuilder::setOrderingKey);
-            PubsubMessage pubSubMsg = pubSubMsgBuilder.build();
-            ApiFuture publishHandle = publisher.publish(pubSubMsg);
+            ApiFuture publishHandle = publisher.publish(buildPubSubMessage(key, message));
             publishHandle.get();
         } catch(Exception ex){
             LOGGER.error(String.format("Exception encountered while publishing message - %s", ex.getMessage()));
         }
     }
 
+    /**
+     * Send several messages to the PubSub topic and wait for all of them to be published
+     * @param key (Optional) - Key
+     * @param messages - Messages, in order
+     * @throws RuntimeException - If any message could not be published. The first failure is the cause, the others
+     * are suppressed
+     */
+    private void sendMessages(Optional<String> key, List<? extends Message> messages) {
+        List<ApiFuture<String>> publishHandles = new ArrayList<>(messages.size());
+        for(Message message: messages){
+            publishHandles.add(publisher.publish(buildPubSubMessage(key, message)));
+        }
+        publisher.publishAllOutstanding();
+        List<Throwable> publishFailures = new ArrayList<>();
+        for(ApiFuture<String> publishHandle: publishHandles){
+            try {
+                publishHandle.get();
+            } catch(InterruptedException interruptEx){
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(String.format("Interrupted while publishing %s messages", messages.size()),
+                        interruptEx);
+            } catch(ExecutionException execEx){
+                publishFailures.add(execEx.getCause());
+            }
+        }
+        if(!publishFailures.isEmpty()){
+            LOGGER.error(String.format("Failed to publish %s of %s messages - %s",
+                    publishFailures.size(),
+                    messages.size(),
+                    publishFailures.get(0).getMessage()));
+            RuntimeException publishException = new RuntimeException(String.format("Failed to publish %s of %s messages",
+                    publishFailures.size(),
+                    messages.size()), publishFailures.get(0));
+            publishFailures.stream().skip(1).forEach(publishException::addSuppressed);
+            throw publishException;
+        }
+    }
+
+    private PubsubMessage buildPubSubMessage(Optional<String> key, Message message) {
+        PubsubMessage.Builder pubSubMsgBuilder = PubsubMessage
+                .newBuilder()
+                .setData(UnsafeByteOperations.unsafeWrap(this.serializeMessage(message)))
+                .putAttributes(Constants.TRANSACTION_GROUP_ATTRIBUTE, message.getTransactionGroupId().orElse(""));
+        key.ifPresent(pubSubMsgBuilder::setOrderingKey);
+        return pubSubMsgBuilder.build();
+    }
+
     /**
      * Close the producer
      */
@@ -28,7 +28,7 @@ package io.github.handy.messaging.pubsubconnector.consumersystem;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.testkit.TestKit;
-import io.github.handy.messaging.interfaces.EnqueueMessage;
+import io.github.handy.messaging.interfaces.EnqueueMessages;
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.pubsubconnector.Constants;
 import io.github.handy.messaging.types.simplemessage.SimpleMessage;
@@ -168,6 +168,6 @@ public class PubSubConsumerSystemTest {
                 .setData(ByteString.copyFrom(getMessage().serialize()))
                 .build();
         this.publisher.publish(pubSubMsg);
-        consumerActorProbe.expectMsgClass(EnqueueMessage.class);
+        consumerActorProbe.expectMsgClass(EnqueueMessages.class);
     }
 }
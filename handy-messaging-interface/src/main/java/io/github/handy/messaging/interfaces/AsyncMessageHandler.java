@@ -0,0 +1,51 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Interface for handling messages asynchronously. A message handler that spends most of its time waiting on I/O can
+ * implement this interface, so that it does not hold a worker thread while it waits. A message is considered processed
+ * once the returned stage completes
+ */
+public interface AsyncMessageHandler extends MessageHandler {
+
+    /**
+     * Function that gets invoked for every message read from the channel. Must not block
+     * @param msg - Message received from the channel
+     * @return - Stage that completes once the message is processed, or completes exceptionally if processing failed
+     */
+    CompletionStage<Void> handleMessageAsync(Message msg);
+
+    /**
+     * Function that gets invoked for a single message. Waits for handleMessageAsync to complete
+     * @param msg - Message received from the channel
+     */
+    @Override
+    default void handleMessage(Message msg){
+        this.handleMessageAsync(msg).toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.util.List;
+
+/**
+ * Interface for handling messages in batches. A message handler that processes messages more efficiently in bulk,
+ * like one that upserts them into a database, can implement this interface instead of MessageHandler
+ */
+public interface BatchMessageHandler extends MessageHandler {
+
+    /**
+     * Function that gets invoked with the messages of a dispatched batch. Messages of a transaction group are handed
+     * over in the order they were read from the channel, in batches of their own
+     * @param msgs - Messages received from the channel
+     */
+    void handleMessages(List<Message> msgs);
+
+    /**
+     * Function that gets invoked for a single message. Handed over to handleMessages as a batch of one
+     * @param msg - Message received from the channel
+     */
+    @Override
+    default void handleMessage(Message msg){
+        this.handleMessages(List.of(msg));
+    }
+}
@@ -26,12 +26,23 @@ package io.github.handy.messaging.interfaces;
 
 import akka.actor.ActorRef;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 /**
  * Abstract class for a consumer. A consumer is an entity that reads messages from a channel and processes them.
  */
 public abstract class Consumer{
 
     private ActorRef consumerActor;
+    private FlowController flowController;
+    private Supplier<? extends Message> messageFactory;
+    private boolean lazyDeserialization;
+    private boolean partitionOrdering;
+    private Optional<Integer> maxDecompressedSize;
 
     /**
      * Constructor for the consumer
@@ -39,6 +50,79 @@ public abstract class Consumer{
      */
     public Consumer(ActorRef consumerActor){
         this.consumerActor = consumerActor;
+        this.flowController = FlowController.unbounded();
+        this.maxDecompressedSize = Optional.empty();
+    }
+
+    /**
+     * Function to set the flow controller the consumer hands messages over through
+     * @param flowController - Flow controller of the channel
+     */
+    public void setFlowController(FlowController flowController){
+        this.flowController = flowController;
+    }
+
+    /**
+     * Function to get the flow controller of the consumer. Connectors check it to stop fetching messages while the
+     * channel is not keeping up
+     * @return - Flow controller of the channel
+     */
+    protected FlowController getFlowController(){
+        return this.flowController;
+    }
+
+    /**
+     * Function to set whether the consumer hands messages over in their serialized form, leaving the deserialization
+     * to the workers of the channel. Only messages whose transaction group id is carried in the metadata of their
+     * records are handed over serialized
+     * @param lazyDeserialization - True to defer deserialization to the workers
+     */
+    public void setLazyDeserialization(boolean lazyDeserialization){
+        this.lazyDeserialization = lazyDeserialization;
+    }
+
+    /**
+     * Function to check whether the consumer defers deserialization to the workers of the channel
+     * @return - True if deserialization is deferred
+     */
+    protected boolean isLazyDeserialization(){
+        return this.lazyDeserialization;
+    }
+
+    /**
+     * Function to set whether the consumer decompresses the messages compressed by a payload codec. Messages are only
+     * checked for the header of a compressed message when decompression is enabled, so that uncompressed payloads
+     * starting with the same bytes are never mistaken for compressed ones
+     * @param decompressionEnabled - True to decompress compressed messages
+     * @param maxDecompressedSize - Maximum size of a decompressed message in bytes
+     */
+    public void setPayloadDecompression(boolean decompressionEnabled, int maxDecompressedSize){
+        this.maxDecompressedSize = decompressionEnabled ? Optional.of(maxDecompressedSize) : Optional.empty();
+    }
+
+    /**
+     * Function to get the maximum size of a decompressed message
+     * @return - Maximum size of a decompressed message in bytes. Empty if decompression is disabled
+     */
+    protected Optional<Integer> getMaxDecompressedSize(){
+        return this.maxDecompressedSize;
+    }
+
+    /**
+     * Function to set whether the consumer tags the messages it hands over with the partition they were consumed
+     * from, so that the channel orders them by partition. Connectors without partitions ignore it
+     * @param partitionOrdering - True to tag messages with their partition
+     */
+    public void setPartitionOrdering(boolean partitionOrdering){
+        this.partitionOrdering = partitionOrdering;
+    }
+
+    /**
+     * Function to check whether the consumer tags the messages it hands over with their partition
+     * @return - True if messages are tagged with their partition
+     */
+    protected boolean isPartitionOrdering(){
+        return this.partitionOrdering;
     }
 
     /**
@@ -47,15 +131,56 @@ public abstract class Consumer{
     abstract public void startPolling();
 
     /**
-     * Function to deserialize the message
+     * Function to deserialize the message. The factory of the message type is looked up on the first message and
+     * reused for the following ones. Messages compressed by a payload codec are decompressed first if decompression is
+     * enabled. The message is
+     * deserialized in the lazy deserialization mode as well, as the channel needs its transaction group id to route
+     * it; connectors carrying the transaction group id in the metadata of their records use the overload taking it
      * @param serializedMessage - Serialized message
      * @return - Deserialized message
      */
     public Message getMessage(byte[] serializedMessage){
         try {
-            Class<?> messageTypeClass = Class.forName(this.getMessageTypeClass());
-            Message messageInstance = (Message) messageTypeClass.getConstructor().newInstance();
-            messageInstance.deserialize(serializedMessage);
+            Message messageInstance = this.getMessageFactory().get();
+            messageInstance.deserialize(this.maxDecompressedSize
+                    .map(maxSize -> PayloadCodecs.decode(serializedMessage, maxSize))
+                    .orElse(serializedMessage));
+            return messageInstance;
+        } catch(Exception ex){
+            throw new RuntimeException(String.format("Deserialization failed. Message type - %s. Exception details - %s",
+                    this.getMessageTypeClass(),
+                    ex.getMessage()));
+        }
+    }
+
+    /**
+     * Function to deserialize a message whose transaction group id is carried in the metadata of the record. In the
+     * lazy deserialization mode the transaction group id lets the channel route the message without deserializing it
+     * @param serializedMessage - Serialized message
+     * @param transactionGroupId - Transaction group id read from the metadata of the record
+     * @return - Deserialized message, or a lazy message in the lazy deserialization mode
+     */
+    public Message getMessage(byte[] serializedMessage, Optional<String> transactionGroupId){
+        if(this.lazyDeserialization){
+            return new LazyMessage(ByteBuffer.wrap(serializedMessage), this.getMessageFactory(), transactionGroupId,
+                    this.maxDecompressedSize);
+        }
+        return this.getMessage(serializedMessage);
+    }
+
+    /**
+     * Function to deserialize the message from the remaining bytes of a buffer, so that connectors receiving messages
+     * into buffers can hand them over without copying them into an array first. The message is deserialized in the
+     * lazy deserialization mode as well, as with getMessage(byte[])
+     * @param serializedMessage - Buffer holding the serialized message
+     * @return - Deserialized message
+     */
+    public Message getMessage(ByteBuffer serializedMessage){
+        try {
+            Message messageInstance = this.getMessageFactory().get();
+            messageInstance.deserialize(this.maxDecompressedSize
+                    .flatMap(maxSize -> PayloadCodecs.decode(serializedMessage, maxSize))
+                    .orElse(serializedMessage));
             return messageInstance;
         } catch(Exception ex){
             throw new RuntimeException(String.format("Deserialization failed. Message type - %s. Exception details - %s",
@@ -64,6 +189,28 @@ public abstract class Consumer{
         }
     }
 
+    /**
+     * Function to deserialize a message held in a buffer whose transaction group id is carried in the metadata of the
+     * record
+     * @param serializedMessage - Buffer holding the serialized message
+     * @param transactionGroupId - Transaction group id read from the metadata of the record
+     * @return - Deserialized message, or a lazy message in the lazy deserialization mode
+     */
+    public Message getMessage(ByteBuffer serializedMessage, Optional<String> transactionGroupId){
+        if(this.lazyDeserialization){
+            return new LazyMessage(serializedMessage, this.getMessageFactory(), transactionGroupId,
+                    this.maxDecompressedSize);
+        }
+        return this.getMessage(serializedMessage);
+    }
+
+    private Supplier<? extends Message> getMessageFactory(){
+        if(this.messageFactory == null){
+            this.messageFactory = MessageFactories.getFactory(this.getMessageTypeClass());
+        }
+        return this.messageFactory;
+    }
+
     /**
      * Function to stop polling the channel for messages
      */
@@ -76,11 +223,71 @@ public abstract class Consumer{
     abstract protected String getMessageTypeClass();
 
     /**
-     * Function to be called when a message is received
+     * Function to be called when a message is received. The call blocks while the channel has no room for the message,
+     * so it must never be called from the poll thread or a callback thread of a messaging system client. Connectors
+     * receiving on such threads use offerMessage instead
      * @param msg - Message received
      */
     protected void onMessageReceived(Message msg){
+        this.flowController.acquire(1);
+        this.consumerActor.tell(new EnqueueMessage(msg), ActorRef.noSender());
+    }
+
+    /**
+     * Function called once messages handed over by the consumer have finished processing in the channel, whether the
+     * handler succeeded or not. Connectors that commit or acknowledge the messages they consume override it to do so
+     * only for processed messages. It is called from the channel, not from the thread polling the messaging system
+     * @param msgs - Messages processed, as handed over by the consumer
+     */
+    public void onMessagesProcessed(List<Message> msgs){
+    }
+
+    /**
+     * Function to be called when a batch of messages is received. The messages are handed over to the channel in a
+     * single envelope, so connectors that poll several messages at a time should prefer it over onMessageReceived.
+     * Batches larger than the capacity of the flow controller are handed over in several envelopes. The call blocks
+     * while the channel has no room for the messages, so it must never be called from the poll thread or a callback
+     * thread of a messaging system client. Connectors receiving on such threads use offerMessages instead
+     * @param msgs - Messages received
+     */
+    protected void onMessagesReceived(List<Message> msgs){
+        int chunkSize = this.flowController.getCapacity();
+        for(int fromIdx = 0; fromIdx < msgs.size(); fromIdx += chunkSize){
+            List<Message> chunk = msgs.subList(fromIdx, Math.min(msgs.size(), fromIdx + chunkSize));
+            this.flowController.acquire(chunk.size());
+            this.consumerActor.tell(new EnqueueMessages(chunk.size() == msgs.size() ? msgs : new ArrayList<>(chunk)),
+                    ActorRef.noSender());
+        }
+    }
+
+    /**
+     * Function to hand a received message over to the channel if it has room for it, without blocking
+     * @param msg - Message received
+     * @return - True if the message was handed over. A message that was not handed over must be offered again once
+     * the channel has drained its buffer
+     */
+    protected boolean offerMessage(Message msg){
+        if(this.flowController.tryAcquire(1) == 0){
+            return false;
+        }
         this.consumerActor.tell(new EnqueueMessage(msg), ActorRef.noSender());
+        return true;
+    }
+
+    /**
+     * Function to hand as many of a batch of received messages over to the channel as it has room for, without
+     * blocking. The messages are handed over in order in a single envelope, starting from the first one
+     * @param msgs - Messages received
+     * @return - Number of messages handed over. The remaining messages must be offered again once the channel has
+     * drained its buffer
+     */
+    protected int offerMessages(List<Message> msgs){
+        int acquiredCount = this.flowController.tryAcquire(msgs.size());
+        if(acquiredCount > 0){
+            this.consumerActor.tell(new EnqueueMessages(acquiredCount == msgs.size() ? msgs
+                    : new ArrayList<>(msgs.subList(0, acquiredCount))), ActorRef.noSender());
+        }
+        return acquiredCount;
     }
 
 
@@ -0,0 +1,89 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Payload codec compressing with the zlib deflate format of the JDK
+ */
+public class DeflatePayloadCodec implements PayloadCodec {
+
+    public static final String NAME = "deflate";
+
+    private final int compressionLevel;
+
+    /**
+     * Constructor for a codec compressing at the default level
+     */
+    public DeflatePayloadCodec(){
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor for a codec compressing at the given level
+     * @param compressionLevel - Compression level, from 0 to 9
+     */
+    public DeflatePayloadCodec(int compressionLevel){
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(this.compressionLevel);
+        ByteArrayOutputStream compressedStream = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try(DeflaterOutputStream deflaterStream = new DeflaterOutputStream(compressedStream, deflater)) {
+            deflaterStream.write(data);
+        } catch (IOException ex){
+            throw new RuntimeException(String.format("Deflate compression failed. Details - %s", ex.getMessage()));
+        } finally {
+            deflater.end();
+        }
+        return compressedStream.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(byte[] compressedData, int maxDecompressedSize) {
+        try(InflaterInputStream inflaterStream = new InflaterInputStream(new ByteArrayInputStream(compressedData))) {
+            byte[] decompressedData = inflaterStream.readNBytes(maxDecompressedSize);
+            if(inflaterStream.read() != -1){
+                throw new IOException(String.format("Decompressed data exceeds %s bytes", maxDecompressedSize));
+            }
+            return decompressedData;
+        } catch (IOException ex){
+            throw new RuntimeException(String.format("Deflate decompression failed. Details - %s", ex.getMessage()));
+        }
+    }
+}
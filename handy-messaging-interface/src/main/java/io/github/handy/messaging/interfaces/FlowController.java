@@ -0,0 +1,201 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow controller limiting the number of messages a consumer hands to its channel that the channel has not yet taken
+ * out of its buffer. A message takes a credit when the consumer hands it over and returns it when the channel drains
+ * it from its buffer. The flow controller pauses the consumer once the outstanding messages reach the high watermark,
+ * and resumes it once they fall back to the low watermark. Connectors check the flow controller from their receive
+ * loops and stop fetching from the messaging system while it is paused. Messages a connector has already fetched when
+ * it gets paused are still handed over, up to the capacity of the flow controller, so the buffer of the channel never
+ * has to hold more messages than its capacity. Connectors take credits with tryAcquire, which never blocks, and hold
+ * back the messages they get no credits for until the channel drains its buffer. acquire blocks the calling thread
+ * instead, and must never be called from the poll thread or a callback thread of a messaging system client.
+ */
+public class FlowController {
+
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final int capacity;
+    private int outstandingMessages;
+    private boolean paused;
+
+    /**
+     * Constructor for the flow controller
+     * @param highWatermark - Number of outstanding messages at which the consumer is paused
+     * @param lowWatermark - Number of outstanding messages at which a paused consumer is resumed
+     */
+    public FlowController(int highWatermark, int lowWatermark){
+        this(highWatermark, lowWatermark, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor for the flow controller
+     * @param highWatermark - Number of outstanding messages at which the consumer is paused
+     * @param lowWatermark - Number of outstanding messages at which a paused consumer is resumed
+     * @param capacity - Maximum number of outstanding messages. Not less than the high watermark
+     */
+    public FlowController(int highWatermark, int lowWatermark, int capacity){
+        if(highWatermark < 1 || lowWatermark < 0 || lowWatermark >= highWatermark || capacity < highWatermark){
+            throw new IllegalArgumentException(String.format("Invalid flow control watermarks (%s, %s) for capacity %s",
+                    highWatermark,
+                    lowWatermark,
+                    capacity));
+        }
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.capacity = capacity;
+        this.outstandingMessages = 0;
+        this.paused = false;
+    }
+
+    /**
+     * Function to get a flow controller that never pauses the consumer
+     * @return - Unbounded flow controller
+     */
+    public static FlowController unbounded(){
+        return new FlowController(Integer.MAX_VALUE, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Function to take credits for messages handed over to the channel without blocking. Takes as many credits as
+     * are left below the capacity of the flow controller, up to the number of messages
+     * @param messageCount - Number of messages to hand over
+     * @return - Number of credits taken. The messages beyond it must be held back until credits are released
+     */
+    public synchronized int tryAcquire(int messageCount){
+        int acquiredCount = Math.max(0, Math.min(messageCount, this.capacity - this.outstandingMessages));
+        this.outstandingMessages += acquiredCount;
+        if(this.outstandingMessages >= this.highWatermark){
+            this.paused = true;
+        }
+        return acquiredCount;
+    }
+
+    /**
+     * Function to take credits for messages handed over to the channel. Blocks while the messages would take the
+     * outstanding messages over the capacity of the flow controller. It must never be called from the poll thread or
+     * a callback thread of a messaging system client, as the client stops serving the messaging system while it waits.
+     * Connectors use tryAcquire instead
+     * @param messageCount - Number of messages handed over. Not more than the capacity
+     * @throws IllegalStateException - If the thread is interrupted while waiting for credits. The interrupt flag of
+     * the thread is set again
+     */
+    public synchronized void acquire(int messageCount){
+        if(messageCount > this.capacity){
+            throw new IllegalArgumentException(String.format("Cannot acquire %s credits from a flow controller with capacity %s",
+                    messageCount,
+                    this.capacity));
+        }
+        try {
+            while(this.outstandingMessages + messageCount > this.capacity){
+                this.wait();
+            }
+        } catch(InterruptedException ex){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for flow control credits", ex);
+        }
+        this.outstandingMessages += messageCount;
+        if(this.outstandingMessages >= this.highWatermark){
+            this.paused = true;
+        }
+    }
+
+    /**
+     * Function to return the credits of messages the channel has drained from its buffer
+     * @param messageCount - Number of messages drained
+     */
+    public synchronized void release(int messageCount){
+        this.outstandingMessages = Math.max(0, this.outstandingMessages - messageCount);
+        if(this.paused && this.outstandingMessages <= this.lowWatermark){
+            this.paused = false;
+        }
+        this.notifyAll();
+    }
+
+    /**
+     * Function to check if the consumer should stop fetching messages
+     * @return - True if the consumer is paused
+     */
+    public synchronized boolean isPaused(){
+        return this.paused;
+    }
+
+    /**
+     * Function to get the number of messages the consumer can hand over before it gets paused
+     * @return - Number of available credits. 0 if the consumer is paused
+     */
+    public synchronized int getAvailableCredits(){
+        return this.paused ? 0 : this.highWatermark - this.outstandingMessages;
+    }
+
+    /**
+     * Function to get the number of messages the consumer can hand over before reaching the capacity of the flow
+     * controller
+     * @return - Number of credits left below the capacity
+     */
+    public synchronized int getRemainingCapacity(){
+        return Math.max(0, this.capacity - this.outstandingMessages);
+    }
+
+    /**
+     * Function to get the maximum number of messages the consumer can hand over before acquiring credits blocks
+     * @return - Capacity of the flow controller
+     */
+    public int getCapacity(){
+        return this.capacity;
+    }
+
+    /**
+     * Function to get the number of messages handed over and not yet drained by the channel
+     * @return - Number of outstanding messages
+     */
+    public synchronized int getOutstandingMessages(){
+        return this.outstandingMessages;
+    }
+
+    /**
+     * Function to wait until the consumer is resumed. Receive loops are expected to call this with a short timeout and
+     * check whether they have been asked to stop in between
+     * @param timeout - Maximum time to wait
+     * @param timeUnit - Unit of the timeout
+     * @return - True if the consumer is not paused when the function returns
+     * @throws InterruptedException - If the waiting thread is interrupted
+     */
+    public synchronized boolean awaitResume(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + timeUnit.toNanos(timeout);
+        while(this.paused){
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if(remainingNanos <= 0){
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload codec compressing with the GZIP format of the JDK
+ */
+public class GzipPayloadCodec implements PayloadCodec {
+
+    public static final String NAME = "gzip";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        ByteArrayOutputStream compressedStream = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try(GZIPOutputStream gzipStream = new GZIPOutputStream(compressedStream)) {
+            gzipStream.write(data);
+        } catch (IOException ex){
+            throw new RuntimeException(String.format("GZIP compression failed. Details - %s", ex.getMessage()));
+        }
+        return compressedStream.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(byte[] compressedData, int maxDecompressedSize) {
+        try(GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(compressedData))) {
+            byte[] decompressedData = gzipStream.readNBytes(maxDecompressedSize);
+            if(gzipStream.read() != -1){
+                throw new IOException(String.format("Decompressed data exceeds %s bytes", maxDecompressedSize));
+            }
+            return decompressedData;
+        } catch (IOException ex){
+            throw new RuntimeException(String.format("GZIP decompression failed. Details - %s", ex.getMessage()));
+        }
+    }
+}
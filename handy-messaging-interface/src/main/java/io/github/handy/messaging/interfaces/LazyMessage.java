@@ -0,0 +1,193 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Message still in its serialized form. Consumers in the lazy deserialization mode hand these over to the channel
+ * instead of deserializing on the thread receiving from the messaging system, and the worker handling the message
+ * deserializes it just before passing it to the message handler. The transaction group id is supplied by the
+ * connector from the metadata of the record, so that the channel routes the message without deserializing it.
+ */
+public class LazyMessage implements Message {
+
+    private final ByteBuffer serializedMessage;
+    private final Supplier<? extends Message> messageFactory;
+    private final Optional<String> transactionGroupId;
+    private final Optional<Integer> maxDecompressedSize;
+    private volatile ByteBuffer decodedMessage;
+    private volatile Message message;
+
+    /**
+     * Constructor for a lazy message whose payload is not compressed
+     * @param serializedMessage - Serialized message
+     * @param messageFactory - Factory creating empty instances of the message type
+     * @param transactionGroupId - Transaction group id of the message, read from the metadata of the record
+     */
+    public LazyMessage(byte[] serializedMessage, Supplier<? extends Message> messageFactory,
+                       Optional<String> transactionGroupId){
+        this(ByteBuffer.wrap(serializedMessage), messageFactory, transactionGroupId, Optional.empty());
+    }
+
+    /**
+     * Constructor for a lazy message held in a buffer. The buffer is handed over to the message and must not be
+     * modified afterwards
+     * @param serializedMessage - Buffer holding the serialized message
+     * @param messageFactory - Factory creating empty instances of the message type
+     * @param transactionGroupId - Transaction group id of the message, read from the metadata of the record
+     * @param maxDecompressedSize - Maximum size of the message once decompressed. Empty if messages compressed by a
+     *                            payload codec are not expected
+     */
+    public LazyMessage(ByteBuffer serializedMessage, Supplier<? extends Message> messageFactory,
+                       Optional<String> transactionGroupId, Optional<Integer> maxDecompressedSize){
+        this.serializedMessage = serializedMessage;
+        this.messageFactory = messageFactory;
+        this.transactionGroupId = transactionGroupId;
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    /**
+     * Function to get the deserialized message. The message is deserialized on the first call only
+     * @return - Deserialized message
+     */
+    public Message getMessage(){
+        Message deserializedMessage = this.message;
+        if(deserializedMessage == null){
+            synchronized (this){
+                if(this.message == null){
+                    Message messageInstance = this.messageFactory.get();
+                    messageInstance.deserialize(this.getDecodedMessage());
+                    this.message = messageInstance;
+                }
+                deserializedMessage = this.message;
+            }
+        }
+        return deserializedMessage;
+    }
+
+    /**
+     * Function to get the serialized message, decompressed if it was compressed by a payload codec and decompression
+     * is enabled. The message is decoded on the first call only
+     * @return - Read-only buffer holding the serialized message
+     */
+    private ByteBuffer getDecodedMessage(){
+        ByteBuffer decoded = this.decodedMessage;
+        if(decoded == null){
+            decoded = this.maxDecompressedSize
+                    .flatMap(maxSize -> PayloadCodecs.decode(this.serializedMessage, maxSize))
+                    .orElse(this.serializedMessage)
+                    .asReadOnlyBuffer();
+            this.decodedMessage = decoded;
+        }
+        return decoded.duplicate();
+    }
+
+    /**
+     * Function to check if the message has been deserialized
+     * @return - True if the message has been deserialized
+     */
+    public boolean isDeserialized(){
+        return this.message != null;
+    }
+
+    /**
+     * Function to get the deserialized form of a message, unwrapping it first if it is a partitioned message
+     * @param message - Message, lazy or not
+     * @return - The deserialized message of a lazy message, or the message itself otherwise
+     */
+    public static Message resolve(Message message){
+        if(message instanceof PartitionedMessage){
+            message = ((PartitionedMessage) message).getMessage();
+        }
+        return message instanceof LazyMessage ? ((LazyMessage) message).getMessage() : message;
+    }
+
+    /**
+     * Function to get the deserialized form of a list of messages
+     * @param messages - Messages, lazy or not
+     * @return - Deserialized messages, in the same order
+     */
+    public static List<Message> resolve(List<Message> messages){
+        if(messages.stream().noneMatch(message -> message instanceof LazyMessage || message instanceof PartitionedMessage)){
+            return messages;
+        }
+        return messages.stream().map(LazyMessage::resolve).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<String> getTransactionGroupId() {
+        return this.transactionGroupId;
+    }
+
+    @Override
+    public String getVersion() {
+        return this.getMessage().getVersion();
+    }
+
+    @Override
+    public String getHeaderSchema() {
+        return this.getMessage().getHeaderSchema();
+    }
+
+    @Override
+    public String getId() {
+        return this.getMessage().getId();
+    }
+
+    @Override
+    public void buildMessage() {
+    }
+
+    @Override
+    public byte[] serialize() {
+        ByteBuffer decodedMessage = this.getDecodedMessage();
+        byte[] serializedMessageArr = new byte[decodedMessage.remaining()];
+        decodedMessage.get(serializedMessageArr);
+        return serializedMessageArr;
+    }
+
+    @Override
+    public int getSerializedSize() {
+        return this.getDecodedMessage().remaining();
+    }
+
+    @Override
+    public int serializeInto(ByteBuffer buffer) {
+        ByteBuffer decodedMessage = this.getDecodedMessage();
+        int serializedSize = decodedMessage.remaining();
+        buffer.put(decodedMessage);
+        return serializedSize;
+    }
+
+    @Override
+    public void deserialize(byte[] serializedDataArr) {
+        throw new UnsupportedOperationException("A lazy message cannot be deserialized into");
+    }
+}
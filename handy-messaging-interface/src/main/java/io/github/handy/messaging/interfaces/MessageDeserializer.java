@@ -23,14 +23,36 @@
  */
 
 package io.github.handy.messaging.interfaces;
+
+import java.nio.ByteBuffer;
+
 /**
  * Interface for deserializing the message
  */
 public interface MessageDeserializer {
 
     /**
-     * Function to deserialize the message
+     * Function to deserialize the message. The array is handed over to the message: message types may keep referring
+     * to it rather than copy it, so the caller must not modify it afterwards
      * @param serializedDataArr - Byte array representing serialized data
      */
     public void deserialize(byte[] serializedDataArr);
+
+    /**
+     * Function to deserialize the message from the remaining bytes of a buffer. The position of the buffer is left
+     * unchanged. A buffer wrapping a whole array is deserialized from that array, any other buffer is copied once.
+     * The buffer is handed over to the message as with an array. Message types able to read straight from a buffer
+     * should override it
+     * @param serializedData - Buffer holding the serialized data
+     */
+    default void deserialize(ByteBuffer serializedData){
+        if(serializedData.hasArray() && serializedData.arrayOffset() == 0 && serializedData.position() == 0
+                && serializedData.remaining() == serializedData.array().length){
+            this.deserialize(serializedData.array());
+        } else {
+            byte[] serializedDataArr = new byte[serializedData.remaining()];
+            serializedData.duplicate().get(serializedDataArr);
+            this.deserialize(serializedDataArr);
+        }
+    }
 }
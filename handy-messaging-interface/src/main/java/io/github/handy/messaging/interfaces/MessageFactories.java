@@ -0,0 +1,100 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the factories creating empty message instances for deserialization. The factory of a message type is
+ * resolved once, from the public no-argument constructor of the type, and reused for every message of that type
+ * afterwards. Applications can register a factory of their own for a message type, which avoids reflection altogether
+ * and suits ahead-of-time compiled applications.
+ */
+public class MessageFactories {
+
+    private static final Map<String, Supplier<? extends Message>> factories = new ConcurrentHashMap<>();
+
+    /**
+     * Function to register the factory of a message type. It replaces any factory resolved or registered earlier
+     * @param messageType - Message type
+     * @param factory - Factory creating empty instances of the message type
+     * @param <T> - Message type
+     */
+    public static <T extends Message> void registerFactory(Class<T> messageType, Supplier<T> factory){
+        factories.put(messageType.getName(), factory);
+    }
+
+    /**
+     * Function to get the factory of a message type
+     * @param messageTypeClass - Name of the message type class
+     * @return - Factory creating empty instances of the message type
+     */
+    public static Supplier<? extends Message> getFactory(String messageTypeClass){
+        Supplier<? extends Message> factory = factories.get(messageTypeClass);
+        if(factory != null){
+            return factory;
+        }
+        return factories.computeIfAbsent(messageTypeClass, MessageFactories::resolveFactory);
+    }
+
+    /**
+     * Function to get the factory of a message type
+     * @param messageType - Message type
+     * @return - Factory creating empty instances of the message type
+     */
+    public static Supplier<? extends Message> getFactory(Class<?> messageType){
+        return getFactory(messageType.getName());
+    }
+
+    private static Supplier<? extends Message> resolveFactory(String messageTypeClass){
+        try {
+            Class<?> messageType = Class.forName(messageTypeClass);
+            if(!Message.class.isAssignableFrom(messageType)){
+                throw new RuntimeException(String.format("%s is not a message type", messageTypeClass));
+            }
+            MethodHandle constructor = MethodHandles.publicLookup()
+                    .findConstructor(messageType, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Message.class));
+            return () -> {
+                try {
+                    return (Message) constructor.invokeExact();
+                } catch (Throwable ex){
+                    throw new RuntimeException(String.format("Failed to create message of type %s. Details - %s",
+                            messageTypeClass,
+                            ex.getMessage()));
+                }
+            };
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException ex){
+            throw new RuntimeException(String.format("Failed to resolve factory of message type %s. Details - %s",
+                    messageTypeClass,
+                    ex.getMessage()));
+        }
+    }
+}
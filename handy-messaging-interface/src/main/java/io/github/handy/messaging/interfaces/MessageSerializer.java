@@ -24,6 +24,8 @@
 
 package io.github.handy.messaging.interfaces;
 
+import java.nio.ByteBuffer;
+
 /**
  * Interface for serializing messages
  */
@@ -34,4 +36,26 @@ public interface MessageSerializer {
      * @return byte array representing the serialized message
      */
     byte[] serialize();
+
+    /**
+     * Function to get the size of the serialized message. Message types that know their size without serializing
+     * should override it
+     * @return size of the serialized message in bytes
+     */
+    default int getSerializedSize(){
+        return this.serialize().length;
+    }
+
+    /**
+     * Function to serialize the message into a buffer, starting at its position. The position of the buffer is
+     * advanced past the serialized message. Message types able to write straight into a buffer should override it
+     * @param buffer buffer to write the serialized message to
+     * @return number of bytes written
+     * @throws java.nio.BufferOverflowException if the remaining space of the buffer is smaller than the message
+     */
+    default int serializeInto(ByteBuffer buffer){
+        byte[] serializedMessage = this.serialize();
+        buffer.put(serializedMessage);
+        return serializedMessage.length;
+    }
 }
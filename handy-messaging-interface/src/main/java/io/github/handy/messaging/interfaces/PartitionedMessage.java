@@ -0,0 +1,110 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Message tagged with the partition of the messaging system it was consumed from. Consumers in the partition ordering
+ * mode hand these over to the channel so that the messages of a partition are processed in order in a lane of their
+ * own, in parallel with the other partitions. The worker handling the message unwraps it before passing it to the
+ * message handler
+ */
+public class PartitionedMessage implements Message {
+
+    private final Message message;
+    private final String partition;
+
+    /**
+     * Constructor for PartitionedMessage
+     * @param message - Message consumed, deserialized or lazy
+     * @param partition - Name of the partition the message was consumed from
+     */
+    public PartitionedMessage(Message message, String partition){
+        this.message = message;
+        this.partition = partition;
+    }
+
+    /**
+     * Function to get the message consumed
+     * @return - Message, deserialized or lazy
+     */
+    public Message getMessage(){
+        return this.message;
+    }
+
+    /**
+     * Function to get the partition the message was consumed from
+     * @return - Name of the partition
+     */
+    public String getPartition(){
+        return this.partition;
+    }
+
+    @Override
+    public Optional<String> getTransactionGroupId() {
+        return this.message.getTransactionGroupId();
+    }
+
+    @Override
+    public String getVersion() {
+        return this.message.getVersion();
+    }
+
+    @Override
+    public String getHeaderSchema() {
+        return this.message.getHeaderSchema();
+    }
+
+    @Override
+    public String getId() {
+        return this.message.getId();
+    }
+
+    @Override
+    public void buildMessage() {
+    }
+
+    @Override
+    public byte[] serialize() {
+        return this.message.serialize();
+    }
+
+    @Override
+    public int getSerializedSize() {
+        return this.message.getSerializedSize();
+    }
+
+    @Override
+    public int serializeInto(ByteBuffer buffer) {
+        return this.message.serializeInto(buffer);
+    }
+
+    @Override
+    public void deserialize(byte[] serializedDataArr) {
+        throw new UnsupportedOperationException("A partitioned message cannot be deserialized into");
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+/**
+ * Interface for a codec compressing serialized messages. Codecs are looked up by name in PayloadCodecs; further
+ * codecs, such as LZ4 or Zstd, can be plugged in by listing their implementations in
+ * META-INF/services/io.github.handy.messaging.interfaces.PayloadCodec or by registering them with PayloadCodecs
+ */
+public interface PayloadCodec {
+
+    /**
+     * Function to get the name of the codec. The name is written in the header of every compressed message, so that
+     * consumers can pick the codec to decompress it with
+     * @return - Name of the codec, at most 255 ASCII characters long
+     */
+    String getName();
+
+    /**
+     * Function to compress data
+     * @param data - Data to be compressed
+     * @return - Compressed data
+     */
+    byte[] compress(byte[] data);
+
+    /**
+     * Function to decompress data compressed by this codec. Decompression stops with an exception once the output
+     * grows beyond the given size, so that a small message cannot inflate into an arbitrarily large one
+     * @param compressedData - Compressed data
+     * @param maxDecompressedSize - Maximum size of the decompressed data in bytes
+     * @return - Decompressed data
+     */
+    byte[] decompress(byte[] compressedData, int maxDecompressedSize);
+}
@@ -0,0 +1,151 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the payload codecs, and the framing of compressed messages. A compressed message starts with a header
+ * made of a 4 byte marker, the length of the codec name in one byte and the codec name, followed by the compressed
+ * serialized message. As any payload could start with the same bytes, consumers only look for the header when
+ * decompression is enabled on their channel, and the messages of such a channel are expected to come from producers
+ * framing them this way. Decompressed messages are limited in size, so that a small compressed message cannot
+ * inflate into an arbitrarily large one.
+ * The deflate and gzip codecs are always available; further codecs are loaded with the ServiceLoader or registered
+ * with registerCodec.
+ */
+public class PayloadCodecs {
+
+    public static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 16 * 1024 * 1024;
+
+    private static final byte[] HEADER_MARKER = {0x00, 'H', 'M', 'C'};
+    private static final Map<String, PayloadCodec> codecs = new ConcurrentHashMap<>();
+
+    static {
+        registerCodec(new DeflatePayloadCodec());
+        registerCodec(new GzipPayloadCodec());
+        ServiceLoader.load(PayloadCodec.class).forEach(PayloadCodecs::registerCodec);
+    }
+
+    /**
+     * Function to register a codec under its name. It replaces any codec registered earlier with the same name
+     * @param codec - Payload codec
+     */
+    public static void registerCodec(PayloadCodec codec){
+        byte[] codecName = codec.getName().getBytes(StandardCharsets.US_ASCII);
+        if(codecName.length == 0 || codecName.length > 255){
+            throw new IllegalArgumentException(String.format("Invalid payload codec name %s", codec.getName()));
+        }
+        codecs.put(codec.getName(), codec);
+    }
+
+    /**
+     * Function to get the codec registered under a name
+     * @param codecName - Name of the codec
+     * @return - Payload codec
+     */
+    public static PayloadCodec getCodec(String codecName){
+        PayloadCodec codec = codecs.get(codecName);
+        if(codec == null){
+            throw new RuntimeException(String.format("Unknown payload codec %s", codecName));
+        }
+        return codec;
+    }
+
+    /**
+     * Function to compress a serialized message and prefix it with the header naming the codec
+     * @param codec - Payload codec to compress with
+     * @param serializedMessage - Serialized message
+     * @return - Compressed message with its header
+     */
+    public static byte[] encode(PayloadCodec codec, byte[] serializedMessage){
+        byte[] codecName = codec.getName().getBytes(StandardCharsets.US_ASCII);
+        byte[] compressedMessage = codec.compress(serializedMessage);
+        ByteBuffer encodedMessage = ByteBuffer.allocate(HEADER_MARKER.length + 1 + codecName.length
+                + compressedMessage.length);
+        encodedMessage.put(HEADER_MARKER)
+                .put((byte) codecName.length)
+                .put(codecName)
+                .put(compressedMessage);
+        return encodedMessage.array();
+    }
+
+    /**
+     * Function to check if the remaining bytes of a buffer hold a compressed message. The position of the buffer is
+     * left unchanged
+     * @param serializedMessage - Buffer holding the message
+     * @return - True if the message is compressed
+     */
+    public static boolean isEncoded(ByteBuffer serializedMessage){
+        if(serializedMessage.remaining() <= HEADER_MARKER.length){
+            return false;
+        }
+        int position = serializedMessage.position();
+        for(int idx = 0; idx < HEADER_MARKER.length; idx++){
+            if(serializedMessage.get(position + idx) != HEADER_MARKER[idx]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Function to decompress a message if it is compressed
+     * @param serializedMessage - Message as received
+     * @param maxDecompressedSize - Maximum size of the decompressed message in bytes
+     * @return - Decompressed message, or the message itself if it is not compressed
+     */
+    public static byte[] decode(byte[] serializedMessage, int maxDecompressedSize){
+        return decode(ByteBuffer.wrap(serializedMessage), maxDecompressedSize)
+                .map(ByteBuffer::array)
+                .orElse(serializedMessage);
+    }
+
+    /**
+     * Function to decompress the message held in the remaining bytes of a buffer, if it is compressed. The position
+     * of the buffer is left unchanged
+     * @param serializedMessage - Buffer holding the message as received
+     * @param maxDecompressedSize - Maximum size of the decompressed message in bytes
+     * @return - Buffer holding the decompressed message, or empty if the message is not compressed
+     */
+    public static Optional<ByteBuffer> decode(ByteBuffer serializedMessage, int maxDecompressedSize){
+        if(!isEncoded(serializedMessage)){
+            return Optional.empty();
+        }
+        ByteBuffer encodedMessage = serializedMessage.duplicate();
+        encodedMessage.position(encodedMessage.position() + HEADER_MARKER.length);
+        byte[] codecName = new byte[Byte.toUnsignedInt(encodedMessage.get())];
+        encodedMessage.get(codecName);
+        byte[] compressedMessage = new byte[encodedMessage.remaining()];
+        encodedMessage.get(compressedMessage);
+        PayloadCodec codec = getCodec(new String(codecName, StandardCharsets.US_ASCII));
+        return Optional.of(ByteBuffer.wrap(codec.decompress(compressedMessage, maxDecompressedSize)));
+    }
+}
@@ -24,12 +24,21 @@
 
 package io.github.handy.messaging.interfaces;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
 /**
  * Abstract class for Producer
  */
 public abstract class Producer {
 
     private String queueName;
+    private Optional<PayloadCodec> payloadCodec;
+    private int compressionMinSize;
+    private Optional<Semaphore> inFlightPermits;
 
     /**
      * Constructor for Producer
@@ -37,6 +46,47 @@ public abstract class Producer {
      */
     public Producer(ProducerBuilder builder){
         this.queueName = builder.getQueueName();
+        this.payloadCodec = Optional.empty();
+        this.compressionMinSize = 0;
+        this.inFlightPermits = Optional.empty();
+    }
+
+    /**
+     * Function to bound the number of messages sent asynchronously that may be awaiting completion at once. Once the
+     * bound is reached, sendMessageAsync does not block the caller but returns a future failed with a
+     * RejectedExecutionException, until an earlier send completes
+     * @param maxInFlight - Maximum number of outstanding asynchronous sends
+     */
+    public void setMaxInFlight(int maxInFlight){
+        if(maxInFlight <= 0){
+            throw new RuntimeException(String.format("Max in flight sends must be positive. Found %s", maxInFlight));
+        }
+        this.inFlightPermits = Optional.of(new Semaphore(maxInFlight));
+    }
+
+    /**
+     * Function to set the codec compressing the messages sent by the producer
+     * @param payloadCodec - Payload codec, or empty to send messages uncompressed
+     * @param compressionMinSize - Size in bytes below which serialized messages are sent uncompressed
+     */
+    public void setPayloadCodec(Optional<PayloadCodec> payloadCodec, int compressionMinSize){
+        this.payloadCodec = payloadCodec;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    /**
+     * Function to serialize a message for sending, compressing it with the payload codec of the producer if it has
+     * one and the message is large enough. Connectors should send what it returns rather than calling
+     * Message.serialize themselves
+     * @param message - Message to be sent
+     * @return - Serialized message
+     */
+    protected byte[] serializeMessage(Message message){
+        byte[] serializedMessage = message.serialize();
+        if(this.payloadCodec.isEmpty() || serializedMessage.length < this.compressionMinSize){
+            return serializedMessage;
+        }
+        return PayloadCodecs.encode(this.payloadCodec.get(), serializedMessage);
     }
 
     /**
@@ -60,6 +110,91 @@ public abstract class Producer {
      */
     abstract public void sendMessage(String key, Message message);
 
+    /**
+     * Function to send several messages in order. Connectors override it to send the batch natively, the default sends
+     * the messages one at a time. Connectors sending the batch natively throw a RuntimeException once the whole batch
+     * has been attempted if any message could not be sent
+     * @param messages - Message objects to be sent
+     */
+    public void sendMessages(List<? extends Message> messages){
+        messages.forEach(this::sendMessage);
+    }
+
+    /**
+     * Function to send several messages with a key in order. Connectors override it to send the batch natively, the
+     * default sends the messages one at a time
+     * @param key - String representing the key
+     * @param messages - Message objects to be sent
+     */
+    public void sendMessages(String key, List<? extends Message> messages){
+        messages.forEach(message -> this.sendMessage(key, message));
+    }
+
+    /**
+     * Function to send a message without waiting for the messaging system to acknowledge it. The caller is never
+     * blocked
+     * @param message - Message object to be sent
+     * @return - Future completed once the message is acknowledged, or exceptionally if the send fails or too many
+     * sends are in flight
+     */
+    public CompletableFuture<SendResult> sendMessageAsync(Message message){
+        return this.sendWithPermit(Optional.empty(), message);
+    }
+
+    /**
+     * Function to send a message with a key without waiting for the messaging system to acknowledge it. The caller is
+     * never blocked
+     * @param key - String representing the key
+     * @param message - Message object to be sent
+     * @return - Future completed once the message is acknowledged, or exceptionally if the send fails or too many
+     * sends are in flight
+     */
+    public CompletableFuture<SendResult> sendMessageAsync(String key, Message message){
+        return this.sendWithPermit(Optional.of(key), message);
+    }
+
+    /**
+     * Function performing an asynchronous send. Connectors override it with the non blocking send of their client. The
+     * default fails right away, rather than tie up a shared thread pool with blocking sends
+     * @param key - Key of the message, if any
+     * @param message - Message object to be sent
+     * @return - Future completed once the message is acknowledged
+     */
+    protected CompletableFuture<SendResult> sendAsync(Optional<String> key, Message message){
+        return CompletableFuture.failedFuture(new UnsupportedOperationException(
+                String.format("Asynchronous sends are not supported by the producer of %s", this.queueName)));
+    }
+
+    /**
+     * Function to build the result of a message sent by the producer
+     * @param key - Key of the message, if any
+     * @param message - Message sent
+     * @return - SendResult
+     */
+    protected SendResult getSendResult(Optional<String> key, Message message){
+        return new SendResult(this.queueName, message.getId(), key);
+    }
+
+    private CompletableFuture<SendResult> sendWithPermit(Optional<String> key, Message message){
+        if(this.inFlightPermits.isEmpty()){
+            return this.sendAsync(key, message);
+        }
+        Semaphore permits = this.inFlightPermits.get();
+        if(!permits.tryAcquire()){
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    String.format("Too many asynchronous sends in flight to %s", this.queueName)));
+        }
+        CompletableFuture<SendResult> sendHandle;
+        try {
+            sendHandle = this.sendAsync(key, message);
+        } catch (RuntimeException ex){
+            permits.release();
+            return CompletableFuture.failedFuture(ex);
+        }
+        sendHandle.whenComplete((result, ex) -> permits.release());
+        return sendHandle;
+    }
+
     /**
      * Function to close the producer
      */
@@ -0,0 +1,73 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.interfaces;
+
+import java.util.Optional;
+
+/**
+ * Result of a message sent asynchronously by a producer
+ */
+public class SendResult {
+
+    private final String queueName;
+    private final String messageId;
+    private final Optional<String> key;
+
+    /**
+     * Constructor for SendResult
+     * @param queueName - Name of the queue the message was sent to
+     * @param messageId - Id of the message sent
+     * @param key - Key the message was sent with, if any
+     */
+    public SendResult(String queueName, String messageId, Optional<String> key){
+        this.queueName = queueName;
+        this.messageId = messageId;
+        this.key = key;
+    }
+
+    /**
+     * Function to get the name of the queue the message was sent to
+     * @return - Queue name
+     */
+    public String getQueueName() {
+        return queueName;
+    }
+
+    /**
+     * Function to get the id of the message sent
+     * @return - Message id
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Function to get the key the message was sent with
+     * @return - Key, or empty if the message was sent without one
+     */
+    public Optional<String> getKey() {
+        return key;
+    }
+}
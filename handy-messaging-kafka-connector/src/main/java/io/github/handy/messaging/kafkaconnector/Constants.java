@@ -35,5 +35,9 @@ public class Constants {
     public static final String CONSUMER_ACTOR = "consumer.actor";
     public static final String MESSAGE_TYPE_CLASS = "message.type.class";
     public static final String KAFKA_BOOTSTRAP_SERVERS = "bootstrap.servers";
+    public static final String TRANSACTION_GROUP_HEADER = "hmf.transaction.group.id";
+    public static final String OFFSET_COMMIT_INTERVAL_MS = "offset.commit.interval.millis";
+    public static final String OFFSET_COMMIT_BATCH_COUNT = "offset.commit.batch.count";
+    public static final String REVOKE_DRAIN_TIMEOUT_MS = "partition.revoke.drain.timeout.millis";
 
 }
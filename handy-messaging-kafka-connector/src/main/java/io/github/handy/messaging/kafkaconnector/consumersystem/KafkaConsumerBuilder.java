@@ -29,17 +29,24 @@ import io.github.handy.messaging.interfaces.Consumer;
 import io.github.handy.messaging.interfaces.ConsumerBuilder;
 import io.github.handy.messaging.kafkaconnector.Constants;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * KafkaConsumerBuilder class is used to build a KafkaConsumerSystem Instance
  */
 public class KafkaConsumerBuilder implements ConsumerBuilder {
 
+    public static final long DEFAULT_COMMIT_INTERVAL_MS = 1000;
+    public static final int DEFAULT_COMMIT_BATCH_COUNT = 100;
+    public static final long DEFAULT_REVOKE_DRAIN_TIMEOUT_MS = 30000;
+
     private Map<String, Object> consumerProperties;
     private String queueName;
-    KafkaConsumer kafkaConsumer;
+    private long commitIntervalMillis;
+    private int commitBatchCount;
+    private long revokeDrainTimeoutMillis;
+    org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> kafkaConsumer;
 
     /**
      * Set the consumer properties
@@ -54,12 +61,20 @@ public class KafkaConsumerBuilder implements ConsumerBuilder {
 
     private void extractBuilderProperties(){
         this.queueName = this.consumerProperties.get(Constants.QUEUE_NAME).toString();
-
+        this.commitIntervalMillis = Long.parseLong(this.consumerProperties.getOrDefault(Constants.OFFSET_COMMIT_INTERVAL_MS,
+                DEFAULT_COMMIT_INTERVAL_MS).toString());
+        this.commitBatchCount = Integer.parseInt(this.consumerProperties.getOrDefault(Constants.OFFSET_COMMIT_BATCH_COUNT,
+                DEFAULT_COMMIT_BATCH_COUNT).toString());
+        this.revokeDrainTimeoutMillis = Long.parseLong(this.consumerProperties.getOrDefault(Constants.REVOKE_DRAIN_TIMEOUT_MS,
+                DEFAULT_REVOKE_DRAIN_TIMEOUT_MS).toString());
     }
 
     private void processConsumerProperties(){
         this.extractBuilderProperties();
         this.consumerProperties.remove(Constants.QUEUE_NAME);
+        this.consumerProperties.remove(Constants.OFFSET_COMMIT_INTERVAL_MS);
+        this.consumerProperties.remove(Constants.OFFSET_COMMIT_BATCH_COUNT);
+        this.consumerProperties.remove(Constants.REVOKE_DRAIN_TIMEOUT_MS);
         this.consumerProperties.put(Constants.KAFKA_KEY_DESERIALIZER_PROP, "org.apache.kafka.common.serialization.ByteArrayDeserializer");
         this.consumerProperties.put(Constants.KAFKA_VALUE_DESERIALIZER_PROP, "org.apache.kafka.common.serialization.ByteArrayDeserializer");
         this.consumerProperties.put(Constants.KAFKA_AUTO_COMMIT_PROP, false);
@@ -76,6 +91,30 @@ public class KafkaConsumerBuilder implements ConsumerBuilder {
         return this.queueName;
     }
 
+    /**
+     * Get the interval after which the offsets of processed messages are committed
+     * @return - Commit interval in milliseconds
+     */
+    public long getCommitIntervalMillis() {
+        return this.commitIntervalMillis;
+    }
+
+    /**
+     * Get the number of processed messages after which their offsets are committed, regardless of the commit interval
+     * @return - Commit batch count
+     */
+    public int getCommitBatchCount() {
+        return this.commitBatchCount;
+    }
+
+    /**
+     * Get the time to wait on a rebalance for the messages of revoked partitions to finish processing
+     * @return - Drain timeout in milliseconds
+     */
+    public long getRevokeDrainTimeoutMillis() {
+        return this.revokeDrainTimeoutMillis;
+    }
+
     /**
      * Get the message type class
      * @return - Message type class
@@ -100,9 +139,17 @@ public class KafkaConsumerBuilder implements ConsumerBuilder {
      */
     @Override
     public Consumer build() {
+        return this.build(KafkaConsumer::new);
+    }
+
+    /**
+     * Build the consumer over a Kafka consumer created from the processed consumer properties
+     * @param kafkaConsumerFactory - Function creating the Kafka consumer from the consumer properties
+     * @return - KafkaConsumerSystem Instance
+     */
+    Consumer build(Function<Map<String, Object>, org.apache.kafka.clients.consumer.Consumer<byte[], byte[]>> kafkaConsumerFactory) {
         this.processConsumerProperties();
-        this.kafkaConsumer = new KafkaConsumer(this.consumerProperties);
-        this.kafkaConsumer.subscribe(Arrays.asList(this.queueName));
+        this.kafkaConsumer = kafkaConsumerFactory.apply(this.consumerProperties);
         return new KafkaConsumerSystem(this);
     }
 }
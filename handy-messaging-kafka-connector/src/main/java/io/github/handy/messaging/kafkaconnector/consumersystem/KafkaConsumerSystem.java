@@ -26,31 +26,63 @@ package io.github.handy.messaging.kafkaconnector.consumersystem;
 
 import io.github.handy.messaging.interfaces.Consumer;
 import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.kafkaconnector.Constants;
+import io.github.handy.messaging.interfaces.PartitionedMessage;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
  * KafkaConsumerSystem is the connector wrapper for the KafkaConsumer class. It is responsible for fetching messages from
- * a Kafka topic
+ * a Kafka topic. The offsets of every topic-partition are tracked separately, and only the offsets of messages that
+ * have finished processing in the channel are committed. Records that cannot be deserialized are logged and skipped,
+ * and their offsets committed as if they had been processed. Commits are asynchronous and are made from the poll thread
+ * once the configured number of messages have been processed or the commit interval has elapsed. A single poll thread
+ * keeps polling for the lifetime of the consumer. Starting and stopping polling resumes and pauses the assigned
+ * partitions instead of restarting the thread, so the fetch session and the prefetched records survive from one
+ * batch to the next, and the consumer keeps calling poll while the channel is busy so that it stays in its group. The
+ * poll thread never blocks on the flow controller: polled messages the channel has no room for are held with the
+ * partitions paused, and handed over from the poll loop as the channel drains its buffer.
+ * In the partition ordering mode every message is tagged with its topic-partition, so that the channel processes
+ * each partition in order in a lane of its own and the partitions in parallel. When partitions are revoked on a
+ * rebalance, the consumer waits for their messages still in the channel to finish processing, so that the new owner
+ * of a partition does not process it alongside this consumer, then commits their offsets and releases their tracking
+ * state
  */
 public class KafkaConsumerSystem extends Consumer {
 
-    private KafkaConsumer kafkaConsumer;
+    private org.apache.kafka.clients.consumer.Consumer<byte[], byte[]> kafkaConsumer;
     private ExecutorService pollThreadManager;
-    private Future pollThreadHandle;
-    private boolean interruptionFlag;
-    private Optional<SeekInfo> seekPointer;
+    private Optional<Future> pollThreadHandle;
+    private volatile boolean pollingDemanded;
+    private PartitionOffsetTracker offsetTracker;
+    private Map<Message, SeekInfo> pendingMessages;
+    private List<Message> heldMessages;
+    private long commitIntervalMillis;
+    private int commitBatchCount;
+    private long revokeDrainTimeoutMillis;
+    private long lastCommitMillis;
     private String messageTypeClass;
     private Logger LOGGER = LoggerFactory.getLogger(KafkaConsumerSystem.class);
 
@@ -63,58 +95,287 @@ public class KafkaConsumerSystem extends Consumer {
         super(consumerBuilder.getConsumerActor());
         this.kafkaConsumer = consumerBuilder.kafkaConsumer;
         this.pollThreadManager = Executors.newFixedThreadPool(1);
-        this.seekPointer = Optional.empty();
+        this.pollThreadHandle = Optional.empty();
+        this.pollingDemanded = false;
+        this.offsetTracker = new PartitionOffsetTracker();
+        this.pendingMessages = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.heldMessages = new ArrayList<>();
+        this.commitIntervalMillis = consumerBuilder.getCommitIntervalMillis();
+        this.commitBatchCount = consumerBuilder.getCommitBatchCount();
+        this.revokeDrainTimeoutMillis = consumerBuilder.getRevokeDrainTimeoutMillis();
+        this.lastCommitMillis = System.currentTimeMillis();
         this.messageTypeClass = consumerBuilder.getMessageTypeClass();
+        this.kafkaConsumer.subscribe(List.of(consumerBuilder.getQueueName()), new PartitionRebalanceListener());
+    }
+
+    /**
+     * Rebalance listener of the consumer. Runs on the poll thread from within poll. The lanes of the channel are
+     * created on the first message of a partition and retired once they are drained, so the listener drains the
+     * revoked partitions before settling their offsets
+     */
+    private final class PartitionRebalanceListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            LOGGER.info(String.format("KAFKA CONSUMER - Partitions revoked %s", partitions));
+            dropHeldMessages(partitions);
+            awaitPartitionsDrained(partitions);
+            Map<TopicPartition, OffsetAndMetadata> offsets = offsetTracker.takeCommittableOffsets();
+            if(!offsets.isEmpty()){
+                try {
+                    kafkaConsumer.commitSync(offsets);
+                } catch (Exception ex){
+                    LOGGER.error(String.format("KAFKA CONSUMER - Commit of offsets %s on rebalance failed. Details - %s",
+                            offsets, ex.getMessage()));
+                }
+            }
+            releasePartitions(partitions);
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            LOGGER.info(String.format("KAFKA CONSUMER - Partitions lost %s", partitions));
+            dropHeldMessages(partitions);
+            releasePartitions(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            LOGGER.info(String.format("KAFKA CONSUMER - Partitions assigned %s", partitions));
+        }
+    }
+
+    /**
+     * Drops the held messages of partitions leaving the consumer. They were never handed over to the channel, so their
+     * offsets are not committed past and the partitions are fetched from them again by their next owner
+     * @param partitions Partitions leaving the consumer
+     */
+    private void dropHeldMessages(Collection<TopicPartition> partitions){
+        this.heldMessages.removeIf(message -> {
+            SeekInfo recordOffset = this.pendingMessages.get(message);
+            if(recordOffset == null || !partitions.contains(recordOffset.getTopicPartition())){
+                return false;
+            }
+            this.pendingMessages.remove(message);
+            return true;
+        });
+    }
+
+    /**
+     * Waits until every message of the given partitions handed over to the channel has finished processing, or the
+     * drain timeout has elapsed. The channel keeps processing while the poll thread waits
+     * @param partitions Partitions being revoked
+     */
+    private void awaitPartitionsDrained(Collection<TopicPartition> partitions){
+        long deadlineMillis = System.currentTimeMillis() + this.revokeDrainTimeoutMillis;
+        synchronized (this.pendingMessages){
+            while(this.pendingMessages.values().stream()
+                    .anyMatch(recordOffset -> partitions.contains(recordOffset.getTopicPartition()))){
+                long remainingMillis = deadlineMillis - System.currentTimeMillis();
+                if(remainingMillis <= 0){
+                    LOGGER.warn(String.format("KAFKA CONSUMER - Messages of revoked partitions %s still processing after %s ms. They may be redelivered to the new owner",
+                            partitions, this.revokeDrainTimeoutMillis));
+                    return;
+                }
+                try {
+                    this.pendingMessages.wait(remainingMillis);
+                } catch (InterruptedException ex){
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops tracking the offsets of partitions no longer assigned to the consumer. Messages of theirs still in the
+     * channel are processed, but their offsets are left to the consumer the partitions are assigned to
+     * @param partitions Partitions released
+     */
+    private void releasePartitions(Collection<TopicPartition> partitions){
+        this.offsetTracker.release(partitions);
+        synchronized (this.pendingMessages){
+            this.pendingMessages.values().removeIf(recordOffset -> partitions.contains(recordOffset.getTopicPartition()));
+        }
     }
 
 
     /**
-     * Method to start polling for messages from the Kafka topic
+     * Method to start polling for messages from the Kafka topic. Starts the poll thread on the first call, and resumes
+     * the assigned partitions on the following ones
      */
     @Override
     public void startPolling() {
-        this.pollThreadHandle = this.pollThreadManager.submit(()->{
-            this.interruptionFlag = false;
-            if(this.seekPointer.isPresent()){
-                this.kafkaConsumer.seek(this.seekPointer.get().getTopicPartition(),
-                        this.seekPointer.get().getOffset());
-            }
-            while(!this.interruptionFlag){
-                ConsumerRecords<byte[], byte[]> records = kafkaConsumer.poll(Duration.ofMillis(500));
+        this.pollingDemanded = true;
+        if(this.pollThreadHandle.isEmpty()){
+            this.pollThreadHandle = Optional.of(this.pollThreadManager.submit(this::pollLoop));
+        }
+    }
+
+    /**
+     * Poll loop of the consumer. Runs for the lifetime of the consumer, polling with the partitions paused while the
+     * channel has no demand for messages or messages are held back
+     */
+    private void pollLoop(){
+        while(!Thread.currentThread().isInterrupted()){
+            try {
+                this.handOverHeldMessages();
+                this.applyFlowControl();
+                // Poll briefly while messages are held back, so they are handed over soon after the channel drains its buffer
+                ConsumerRecords<byte[], byte[]> records = kafkaConsumer.poll(Duration.ofMillis(this.heldMessages.isEmpty() ? 500 : 50));
+                List<Message> polledMessages = new ArrayList<>(records.count());
+                List<SeekInfo> polledOffsets = new ArrayList<>(records.count());
                 for(ConsumerRecord<byte[], byte[]> record: records){
-                    Message message = getMessage(record.value());
-                    this.seekPointer = Optional.of(new SeekInfo(record.topic(), record.partition(), record.offset()+1));
-                    super.onMessageReceived(message);
+                    SeekInfo recordOffset = new SeekInfo(record.topic(), record.partition(), record.offset());
+                    Optional<Message> message = this.decodeRecord(record, recordOffset);
+                    if(message.isPresent()){
+                        polledMessages.add(message.get());
+                        polledOffsets.add(recordOffset);
+                    } else {
+                        this.offsetTracker.skip(recordOffset.getTopicPartition(), recordOffset.getOffset());
+                    }
+                }
+                for(int idx = 0; idx < polledMessages.size(); idx++){
+                    SeekInfo recordOffset = polledOffsets.get(idx);
+                    this.offsetTracker.track(recordOffset.getTopicPartition(), recordOffset.getOffset());
+                    this.pendingMessages.put(polledMessages.get(idx), recordOffset);
                 }
+                this.heldMessages.addAll(polledMessages);
+                this.handOverHeldMessages();
+                this.commitProcessedOffsets(false);
+            } catch (WakeupException | InterruptException ex){
+                LOGGER.info("KAFKA CONSUMER - Poll thread interrupted");
+                break;
+            } catch (Exception ex){
+                LOGGER.error(String.format("KAFKA CONSUMER - Poll exception. Details - %s", ex.getMessage()));
             }
-            LOGGER.info("KAFKA CONSUMER - Interrupted polling");
-            if(this.seekPointer.isPresent()) {
-                LOGGER.info("KAFKA CONSUMER -  Seek Pointer found");
-                try {
-                    kafkaConsumer.commitSync(Collections.singletonMap(this.seekPointer.get().getTopicPartition(),
-                            new OffsetAndMetadata(this.seekPointer.get().getOffset())));
-                }catch (Exception ex){
-                    LOGGER.info("KAFKA CONSUMER -Commit EXCEPTION - "+ex.getMessage());
+        }
+        this.commitProcessedOffsets(true);
+    }
+
+    /**
+     * Hands the held messages over to the channel as far as it has room for them, without blocking the poll thread
+     */
+    private void handOverHeldMessages(){
+        List<Message> offeredMessages = this.heldMessages;
+        int handedOverCount = this.offerMessages(offeredMessages);
+        if(handedOverCount == offeredMessages.size()){
+            this.heldMessages = new ArrayList<>();
+        } else {
+            offeredMessages.subList(0, handedOverCount).clear();
+        }
+    }
+
+    /**
+     * Records the offsets of the messages that have finished processing in the channel, so that they are committed by
+     * the poll thread, and wakes the poll thread if it is draining revoked partitions
+     * @param msgs Messages processed
+     */
+    @Override
+    public void onMessagesProcessed(List<Message> msgs) {
+        synchronized (this.pendingMessages){
+            for(Message message: msgs){
+                SeekInfo recordOffset = this.pendingMessages.remove(message);
+                if(recordOffset != null){
+                    this.offsetTracker.markProcessed(recordOffset.getTopicPartition(), recordOffset.getOffset());
                 }
-                LOGGER.info("KAFKA CONSUMER -Committed SUCCESSFULLY");
-            } else {
-                LOGGER.info("KAFKA CONSUMER - ANOMALY Seek Pointer NOT found");
             }
+            this.pendingMessages.notifyAll();
+        }
+    }
 
+    /**
+     * Commits the offsets up to which every message of a partition has been processed, once enough messages have been
+     * processed or the commit interval has elapsed. Must be called from the poll thread
+     * @param force Commit regardless of the commit interval and batch count
+     */
+    private void commitProcessedOffsets(boolean force){
+        long now = System.currentTimeMillis();
+        if(!force && this.offsetTracker.getProcessedSinceCommit() < this.commitBatchCount
+                && now - this.lastCommitMillis < this.commitIntervalMillis){
+            return;
+        }
+        this.lastCommitMillis = now;
+        Map<TopicPartition, OffsetAndMetadata> offsets = this.offsetTracker.takeCommittableOffsets();
+        if(offsets.isEmpty()){
+            return;
+        }
+        this.kafkaConsumer.commitAsync(offsets, (committedOffsets, exception) -> {
+            if(exception != null){
+                LOGGER.error(String.format("KAFKA CONSUMER - Commit of offsets %s failed. Details - %s", committedOffsets,
+                        exception.getMessage()));
+            }
         });
     }
 
     /**
-     * Method to stop polling for messages from the Kafka topic
+     * Deserializes a polled record, tagging it with its partition in the partition ordering mode. A record that cannot
+     * be deserialized is logged and skipped, and never handed over to the channel
+     * @param record Consumer record
+     * @param recordOffset Offset of the record
+     * @return Message of the record. Empty if the record cannot be deserialized
      */
-    @Override
-    public void stopPolling() {
-        this.interruptionFlag = true;
+    private Optional<Message> decodeRecord(ConsumerRecord<byte[], byte[]> record, SeekInfo recordOffset){
         try {
-            this.pollThreadHandle.get();
-        } catch (Exception ex){
-            LOGGER.error(String.format("Kafka consumer poll thread interruption exception. Details - %s", ex.getMessage()));
+            Message message = this.getMessage(record);
+            if(this.isPartitionOrdering()){
+                message = new PartitionedMessage(message, recordOffset.getTopicPartition().toString());
+            }
+            return Optional.of(message);
+        } catch (RuntimeException ex){
+            LOGGER.error(String.format("KAFKA CONSUMER - Skipping record at offset %s of %s that cannot be deserialized. Details - %s",
+                    recordOffset.getOffset(),
+                    recordOffset.getTopicPartition(),
+                    ex.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Deserializes the record. The producer puts the transaction group id of the message in the headers of the
+     * record, with an empty value for messages without a transaction group, so that a lazily deserialized message can
+     * be routed without being deserialized. Records without the header, such as records
+     * from other producers, are deserialized on the poll thread
+     * @param record Consumer record
+     * @return Message of the record
+     */
+    private Message getMessage(ConsumerRecord<byte[], byte[]> record){
+        Header transactionGroupHeader = record.headers().lastHeader(Constants.TRANSACTION_GROUP_HEADER);
+        if(transactionGroupHeader == null){
+            return getMessage(record.value());
         }
+        String transactionGroupId = new String(transactionGroupHeader.value(), StandardCharsets.UTF_8);
+        return getMessage(record.value(),
+                transactionGroupId.isEmpty() ? Optional.empty() : Optional.of(transactionGroupId));
+    }
+
+    /**
+     * Pauses fetching from the assigned partitions while polling is stopped, the channel is not keeping up or polled
+     * messages are held back, and resumes once polling is started again and the channel has caught up. Partitions
+     * assigned while paused are paused as well. The poll loop keeps calling poll in between so that the consumer stays
+     * in its group
+     */
+    private void applyFlowControl(){
+        Set<TopicPartition> assignment = this.kafkaConsumer.assignment();
+        Set<TopicPartition> pausedPartitions = this.kafkaConsumer.paused();
+        if(!this.pollingDemanded || this.getFlowController().isPaused() || !this.heldMessages.isEmpty()){
+            if(pausedPartitions.size() < assignment.size()){
+                LOGGER.info("KAFKA CONSUMER - Pausing fetch as the channel has no demand for messages");
+                this.kafkaConsumer.pause(assignment);
+            }
+        } else if(!pausedPartitions.isEmpty()){
+            LOGGER.info("KAFKA CONSUMER - Resuming fetch");
+            this.kafkaConsumer.resume(pausedPartitions);
+        }
+    }
+
+    /**
+     * Method to stop polling for messages from the Kafka topic. The poll thread keeps running with the assigned
+     * partitions paused until polling is started again
+     */
+    @Override
+    public void stopPolling() {
+        this.pollingDemanded = false;
     }
 
     /**
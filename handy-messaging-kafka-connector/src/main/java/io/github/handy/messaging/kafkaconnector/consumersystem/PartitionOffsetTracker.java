@@ -0,0 +1,131 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.kafkaconnector.consumersystem;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * PartitionOffsetTracker keeps the offsets handed over to the channel for every topic-partition, and works out up to
+ * which offset of each partition every message has finished processing. Only those offsets are safe to commit, so a
+ * message still being processed is redelivered rather than lost if the consumer fails
+ */
+public class PartitionOffsetTracker {
+
+    /**
+     * Offsets of a single topic-partition
+     */
+    private static final class PartitionOffsets {
+        TreeSet<Long> pendingOffsets = new TreeSet<>();
+        long nextOffset;
+        long committedOffset;
+
+        PartitionOffsets(long offset){
+            this.nextOffset = offset;
+            this.committedOffset = offset;
+        }
+
+        long getProcessedOffset(){
+            return this.pendingOffsets.isEmpty() ? this.nextOffset : this.pendingOffsets.first();
+        }
+    }
+
+    private final Map<TopicPartition, PartitionOffsets> partitionOffsets = new HashMap<>();
+    private int processedSinceCommit;
+
+    /**
+     * Records an offset handed over to the channel. Offsets of a partition are expected in increasing order
+     * @param topicPartition Partition of the record
+     * @param offset Offset of the record
+     */
+    public synchronized void track(TopicPartition topicPartition, long offset){
+        PartitionOffsets offsets = this.partitionOffsets.computeIfAbsent(topicPartition, partition -> new PartitionOffsets(offset));
+        offsets.pendingOffsets.add(offset);
+        offsets.nextOffset = offset + 1;
+    }
+
+    /**
+     * Records an offset that is not handed over to the channel, such as a record that cannot be deserialized, as
+     * processed straight away, so that the commits of its partition move past it
+     * @param topicPartition Partition of the record
+     * @param offset Offset of the record
+     */
+    public synchronized void skip(TopicPartition topicPartition, long offset){
+        this.track(topicPartition, offset);
+        this.markProcessed(topicPartition, offset);
+    }
+
+    /**
+     * Records that the message at an offset has finished processing
+     * @param topicPartition Partition of the record
+     * @param offset Offset of the record
+     */
+    public synchronized void markProcessed(TopicPartition topicPartition, long offset){
+        PartitionOffsets offsets = this.partitionOffsets.get(topicPartition);
+        if(offsets != null && offsets.pendingOffsets.remove(offset)){
+            this.processedSinceCommit++;
+        }
+    }
+
+    /**
+     * Stops tracking the offsets of partitions that are no longer assigned to the consumer
+     * @param topicPartitions Partitions to stop tracking
+     */
+    public synchronized void release(Collection<TopicPartition> topicPartitions){
+        topicPartitions.forEach(this.partitionOffsets::remove);
+    }
+
+    /**
+     * Number of messages that finished processing since offsets were last taken for a commit
+     * @return Count of processed messages
+     */
+    public synchronized int getProcessedSinceCommit(){
+        return this.processedSinceCommit;
+    }
+
+    /**
+     * Takes the offsets that have advanced since the last commit, and marks them as committed. The offset of a
+     * partition is the offset of its first message still being processed, or the offset after its last tracked
+     * message if they are all processed
+     * @return Offsets to commit, by partition
+     */
+    public synchronized Map<TopicPartition, OffsetAndMetadata> takeCommittableOffsets(){
+        Map<TopicPartition, OffsetAndMetadata> committableOffsets = new HashMap<>();
+        this.partitionOffsets.forEach((topicPartition, offsets) -> {
+            long processedOffset = offsets.getProcessedOffset();
+            if(processedOffset > offsets.committedOffset){
+                committableOffsets.put(topicPartition, new OffsetAndMetadata(processedOffset));
+                offsets.committedOffset = processedOffset;
+            }
+        });
+        this.processedSinceCommit = 0;
+        return committableOffsets;
+    }
+}
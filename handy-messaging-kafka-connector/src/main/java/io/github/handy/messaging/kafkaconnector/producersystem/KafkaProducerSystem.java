@@ -26,11 +26,19 @@ package io.github.handy.messaging.kafkaconnector.producersystem;
 
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.Producer;
+import io.github.handy.messaging.interfaces.SendResult;
+import io.github.handy.messaging.kafkaconnector.Constants;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -38,6 +46,7 @@ import java.util.concurrent.Future;
 public class KafkaProducerSystem extends Producer {
 
     KafkaProducer kafkaProducer;
+    private Logger LOGGER = LoggerFactory.getLogger(KafkaProducerSystem.class);
 
 
     public KafkaProducerSystem(KafkaProducerBuilder builder){
@@ -60,15 +69,47 @@ public class KafkaProducerSystem extends Producer {
         this.sendMessage(Optional.of(key), message);
     }
 
-    private void sendMessage(Optional<String> key, Message message){
-        try {
-            ProducerRecord record;
-            if(key.isPresent()){
-                record = new ProducerRecord(this.getQueueName(), key.get(), message.serialize());
+    /**
+     * Sends several messages to the Kafka Queue, flushing the producer once for the whole batch
+     * @param messages Messages to be sent, in order
+     */
+    @Override
+    public void sendMessages(List<? extends Message> messages) {
+        this.sendMessages(Optional.empty(), messages);
+    }
+
+    /**
+     * Sends several messages with a key to the Kafka Queue, flushing the producer once for the whole batch
+     * @param key Key for the messages
+     * @param messages Messages to be sent, in order
+     */
+    @Override
+    public void sendMessages(String key, List<? extends Message> messages) {
+        this.sendMessages(Optional.of(key), messages);
+    }
+
+    /**
+     * Sends a message to the Kafka Queue, completing the returned future from the producer callback
+     * @param key Key for the message, if any
+     * @param message Message to be sent
+     * @return Future completed once the broker acknowledges the message
+     */
+    @Override
+    protected CompletableFuture<SendResult> sendAsync(Optional<String> key, Message message) {
+        CompletableFuture<SendResult> sendHandle = new CompletableFuture<>();
+        this.kafkaProducer.send(this.buildRecord(key, message), (metadata, exception) -> {
+            if(exception != null){
+                sendHandle.completeExceptionally(exception);
             } else {
-                record = new ProducerRecord(this.getQueueName(), message.serialize());
+                sendHandle.complete(this.getSendResult(key, message));
             }
-            Future<RecordMetadata> sendHandle = this.kafkaProducer.send(record);
+        });
+        return sendHandle;
+    }
+
+    private void sendMessage(Optional<String> key, Message message){
+        try {
+            Future<RecordMetadata> sendHandle = this.kafkaProducer.send(this.buildRecord(key, message));
             sendHandle.get();
         } catch (InterruptedException interruptEx){
             System.out.println("Kafka Producer Exception - "+interruptEx.getMessage());
@@ -77,6 +118,59 @@ public class KafkaProducerSystem extends Producer {
         }
     }
 
+    /**
+     * Sends several messages and waits for all of them to be acknowledged
+     * @param key Key for the messages, if any
+     * @param messages Messages to be sent, in order
+     * @throws RuntimeException If any message could not be sent. The first failure is the cause, the others are
+     * suppressed
+     */
+    private void sendMessages(Optional<String> key, List<? extends Message> messages){
+        List<Future<RecordMetadata>> sendHandles = new ArrayList<>(messages.size());
+        for(Message message: messages){
+            sendHandles.add(this.kafkaProducer.send(this.buildRecord(key, message)));
+        }
+        this.kafkaProducer.flush();
+        List<Throwable> sendFailures = new ArrayList<>();
+        for(Future<RecordMetadata> sendHandle: sendHandles){
+            try {
+                sendHandle.get();
+            } catch (InterruptedException interruptEx){
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(String.format("Interrupted while sending %s messages to %s",
+                        messages.size(),
+                        this.getQueueName()), interruptEx);
+            } catch (ExecutionException execEx){
+                sendFailures.add(execEx.getCause());
+            }
+        }
+        if(!sendFailures.isEmpty()){
+            LOGGER.error(String.format("Failed to send %s of %s messages to %s. Details - %s",
+                    sendFailures.size(),
+                    messages.size(),
+                    this.getQueueName(),
+                    sendFailures.get(0).getMessage()));
+            RuntimeException sendException = new RuntimeException(String.format("Failed to send %s of %s messages to %s",
+                    sendFailures.size(),
+                    messages.size(),
+                    this.getQueueName()), sendFailures.get(0));
+            sendFailures.stream().skip(1).forEach(sendException::addSuppressed);
+            throw sendException;
+        }
+    }
+
+    private ProducerRecord buildRecord(Optional<String> key, Message message){
+        ProducerRecord record;
+        if(key.isPresent()){
+            record = new ProducerRecord(this.getQueueName(), key.get(), this.serializeMessage(message));
+        } else {
+            record = new ProducerRecord(this.getQueueName(), this.serializeMessage(message));
+        }
+        record.headers().add(Constants.TRANSACTION_GROUP_HEADER,
+                message.getTransactionGroupId().orElse("").getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
     @Override
     public void close() {
         this.kafkaProducer.close();
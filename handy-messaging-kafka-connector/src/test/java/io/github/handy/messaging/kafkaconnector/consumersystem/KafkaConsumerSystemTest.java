@@ -0,0 +1,154 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.handy.messaging.kafkaconnector.consumersystem;
+
+import akka.actor.ActorSystem;
+import akka.testkit.TestKit;
+import io.github.handy.messaging.interfaces.EnqueueMessages;
+import io.github.handy.messaging.interfaces.FlowController;
+import io.github.handy.messaging.kafkaconnector.Constants;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import scala.concurrent.duration.FiniteDuration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class KafkaConsumerSystemTest {
+
+    private static final long MAX_POLL_INTERVAL_MS = 1000;
+
+    private final TopicPartition partition = new TopicPartition("testQueue", 0);
+    private ActorSystem testSystem;
+    private TestKit consumerProbe;
+    private PollRecordingConsumer kafkaConsumer;
+
+    /**
+     * Mock consumer recording the longest gap between two calls to poll. Waits out the poll timeout when no records
+     * are returned, as a Kafka consumer does
+     */
+    private static final class PollRecordingConsumer extends MockConsumer<byte[], byte[]> {
+        private volatile long pollCount;
+        private volatile long lastPollMillis;
+        private volatile long maxPollGapMillis;
+
+        PollRecordingConsumer(){
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public ConsumerRecords<byte[], byte[]> poll(Duration timeout) {
+            long now = System.currentTimeMillis();
+            if(this.pollCount > 0){
+                this.maxPollGapMillis = Math.max(this.maxPollGapMillis, now - this.lastPollMillis);
+            }
+            this.pollCount++;
+            ConsumerRecords<byte[], byte[]> records = super.poll(timeout);
+            if(records.isEmpty()){
+                try {
+                    Thread.sleep(timeout.toMillis());
+                } catch (InterruptedException ex){
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.lastPollMillis = System.currentTimeMillis();
+            return records;
+        }
+    }
+
+    @Before
+    public void setup(){
+        this.testSystem = ActorSystem.create("testSystem");
+        this.consumerProbe = new TestKit(this.testSystem);
+        this.kafkaConsumer = new PollRecordingConsumer();
+    }
+
+    @After
+    public void teardown(){
+        this.kafkaConsumer.wakeup();
+        TestKit.shutdownActorSystem(this.testSystem, scala.concurrent.duration.Duration.apply(10, "seconds"), false);
+    }
+
+    private KafkaConsumerSystem buildConsumer(){
+        Map<String, Object> consumerProperties = new HashMap<>();
+        consumerProperties.put(Constants.QUEUE_NAME, this.partition.topic());
+        consumerProperties.put(Constants.CONSUMER_ACTOR, this.consumerProbe.testActor());
+        consumerProperties.put(Constants.MESSAGE_TYPE_CLASS, "io.github.handy.messaging.types.simplemessage.SimpleMessage");
+        consumerProperties.put("max.poll.interval.ms", MAX_POLL_INTERVAL_MS);
+        KafkaConsumerBuilder consumerBuilder = new KafkaConsumerBuilder();
+        consumerBuilder.setConsumerProperties(consumerProperties);
+        return (KafkaConsumerSystem) consumerBuilder.build(properties -> this.kafkaConsumer);
+    }
+
+    private byte[] getSerializedMessage(int idx){
+        SimpleMessage contentMsg = new SimpleMessage();
+        contentMsg.setContentSchema(String.class.toString());
+        contentMsg.setDateTime(Optional.of(Date.from(Instant.now())));
+        contentMsg.setMessageId(String.format("msg-%s", idx));
+        contentMsg.setPayload("Hello, this is a sample message".getBytes());
+        contentMsg.setSender("app-1");
+        contentMsg.buildMessage();
+        return contentMsg.serialize();
+    }
+
+    @Test
+    public void pollContinuesWhileChannelHoldsCreditsTest(){
+        KafkaConsumerSystem consumer = this.buildConsumer();
+        FlowController flowController = new FlowController(4, 2, 5);
+        consumer.setFlowController(flowController);
+        this.kafkaConsumer.rebalance(List.of(this.partition));
+        this.kafkaConsumer.updateBeginningOffsets(Map.of(this.partition, 0L));
+        for(int idx = 0; idx < 20; idx++){
+            this.kafkaConsumer.addRecord(new ConsumerRecord<>(this.partition.topic(), this.partition.partition(), idx,
+                    null, this.getSerializedMessage(idx)));
+        }
+        consumer.startPolling();
+        Assert.assertEquals(5, this.consumerProbe.expectMsgClass(EnqueueMessages.class).getMessages().size());
+
+        // The channel holds on to every credit for longer than the maximum poll interval
+        long pollCountBeforeHold = this.kafkaConsumer.pollCount;
+        this.consumerProbe.expectNoMessage(FiniteDuration.create(MAX_POLL_INTERVAL_MS * 2, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(this.kafkaConsumer.pollCount - pollCountBeforeHold > 2);
+        Assert.assertTrue(this.kafkaConsumer.maxPollGapMillis < MAX_POLL_INTERVAL_MS);
+        Assert.assertTrue(this.kafkaConsumer.paused().contains(this.partition));
+        Assert.assertEquals(List.of(this.partition), List.copyOf(this.kafkaConsumer.assignment()));
+
+        flowController.release(5);
+        Assert.assertEquals(5, this.consumerProbe.expectMsgClass(EnqueueMessages.class).getMessages().size());
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.handy.messaging.kafkaconnector.consumersystem;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class PartitionOffsetTrackerTest {
+
+    private final TopicPartition partition0 = new TopicPartition("test-topic", 0);
+    private final TopicPartition partition1 = new TopicPartition("test-topic", 1);
+
+    @Test
+    public void commitsOnlyContiguousProcessedOffsetsTest(){
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        for(long offset = 10; offset < 15; offset++){
+            tracker.track(partition0, offset);
+        }
+        tracker.markProcessed(partition0, 10);
+        tracker.markProcessed(partition0, 12);
+        Assert.assertEquals(2, tracker.getProcessedSinceCommit());
+        Map<TopicPartition, OffsetAndMetadata> offsets = tracker.takeCommittableOffsets();
+        Assert.assertEquals(11, offsets.get(partition0).offset());
+        Assert.assertEquals(0, tracker.getProcessedSinceCommit());
+        tracker.markProcessed(partition0, 11);
+        Assert.assertEquals(13, tracker.takeCommittableOffsets().get(partition0).offset());
+        tracker.markProcessed(partition0, 13);
+        tracker.markProcessed(partition0, 14);
+        Assert.assertEquals(15, tracker.takeCommittableOffsets().get(partition0).offset());
+        Assert.assertTrue(tracker.takeCommittableOffsets().isEmpty());
+    }
+
+    @Test
+    public void tracksPartitionsIndependentlyTest(){
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.track(partition0, 0);
+        tracker.track(partition1, 100);
+        tracker.track(partition1, 101);
+        tracker.markProcessed(partition1, 100);
+        tracker.markProcessed(partition1, 101);
+        Map<TopicPartition, OffsetAndMetadata> offsets = tracker.takeCommittableOffsets();
+        Assert.assertFalse(offsets.containsKey(partition0));
+        Assert.assertEquals(102, offsets.get(partition1).offset());
+        tracker.markProcessed(partition0, 0);
+        offsets = tracker.takeCommittableOffsets();
+        Assert.assertEquals(1, offsets.get(partition0).offset());
+        Assert.assertFalse(offsets.containsKey(partition1));
+    }
+
+    @Test
+    public void releasedPartitionsAreNotCommittedTest(){
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.track(partition0, 0);
+        tracker.track(partition1, 0);
+        tracker.release(List.of(partition1));
+        tracker.markProcessed(partition0, 0);
+        tracker.markProcessed(partition1, 0);
+        Assert.assertEquals(1, tracker.getProcessedSinceCommit());
+        Map<TopicPartition, OffsetAndMetadata> offsets = tracker.takeCommittableOffsets();
+        Assert.assertEquals(1, offsets.get(partition0).offset());
+        Assert.assertFalse(offsets.containsKey(partition1));
+    }
+
+    @Test
+    public void skippedOffsetsDoNotStallCommitsTest(){
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.track(partition0, 0);
+        tracker.skip(partition0, 1);
+        tracker.track(partition0, 2);
+        tracker.skip(partition0, 3);
+        tracker.markProcessed(partition0, 0);
+        Assert.assertEquals(2, tracker.takeCommittableOffsets().get(partition0).offset());
+        tracker.markProcessed(partition0, 2);
+        Assert.assertEquals(4, tracker.takeCommittableOffsets().get(partition0).offset());
+    }
+}
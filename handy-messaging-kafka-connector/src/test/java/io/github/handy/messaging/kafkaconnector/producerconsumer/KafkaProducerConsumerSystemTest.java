@@ -27,7 +27,7 @@ package io.github.handy.messaging.kafkaconnector.producerconsumer;
 import akka.actor.ActorSystem;
 import akka.testkit.TestKit;
 import io.github.handy.messaging.interfaces.Consumer;
-import io.github.handy.messaging.interfaces.EnqueueMessage;
+import io.github.handy.messaging.interfaces.EnqueueMessages;
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.Producer;
 import io.github.handy.messaging.kafkaconnector.Constants;
@@ -91,7 +91,7 @@ public class KafkaProducerConsumerSystemTest {
         consumer.startPolling();
         Producer producer = new KafkaProducerBuilder().setProducerProperties(getProducerProperties()).build();
         producer.sendMessage(getMessage());
-        consumerProbe.expectMsgClass(FiniteDuration.create(5, TimeUnit.SECONDS), EnqueueMessage.class);
+        consumerProbe.expectMsgClass(FiniteDuration.create(5, TimeUnit.SECONDS), EnqueueMessages.class);
        consumer.stopPolling();
 
     }
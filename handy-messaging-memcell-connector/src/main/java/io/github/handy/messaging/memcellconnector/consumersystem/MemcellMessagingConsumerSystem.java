@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MemcellConsumerSystem is the connector wrapping a Memcell Messaging Consumer.
@@ -68,6 +69,18 @@ public class MemcellMessagingConsumerSystem extends Consumer {
         LOGGER.info(String.format("Memcell Messaging consumer for queue %s initialized", consumerBuilder.getQueueName()));
     }
 
+    /**
+     * Method to set whether compressed messages are decompressed. The Memcell Messaging client deserializes the
+     * messages it reads itself, so the setting is passed on to it
+     * @param decompressionEnabled True to decompress compressed messages
+     * @param maxDecompressedSize Maximum size of a decompressed message in bytes
+     */
+    @Override
+    public void setPayloadDecompression(boolean decompressionEnabled, int maxDecompressedSize) {
+        super.setPayloadDecompression(decompressionEnabled, maxDecompressedSize);
+        this.consumer.setPayloadDecompression(decompressionEnabled, maxDecompressedSize);
+    }
+
     /**
      * Method to start polling messages from the Memcell Messaging Queue
      */
@@ -76,9 +89,15 @@ public class MemcellMessagingConsumerSystem extends Consumer {
         this.interruptedFlag = false;
         this.pollHandle = this.pollThreadManager.submit(()->{
             while(!this.interruptedFlag){
-               List<Message> collectedMessages = this.consumer.readMessages(50);
-              collectedMessages.forEach(this::onMessageReceived);
+                int fetchLimit = this.getFlowController().getAvailableCredits();
+                if(fetchLimit <= 0){
+                    this.getFlowController().awaitResume(100, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                List<Message> collectedMessages = this.consumer.readMessages(50, fetchLimit);
+                this.onMessagesReceived(collectedMessages);
             }
+            return null;
         });
     }
 
@@ -26,12 +26,18 @@ package io.github.handy.messaging.memcellconnector.producersystem;
 
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.Producer;
+import io.github.handy.messaging.interfaces.SendResult;
 import io.github.handy.messaging.memcell.clients.MemcellMessagingProducer;
 import io.github.handy.messaging.memcell.types.responses.CommandExecutionStatus;
 import io.github.handy.messaging.memcell.types.responses.CommandResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
 /**
  * The MemcellMessagingProducerSystem is the connector wrapping a MemcellMessagingProducer. It is responsible for sending messages
  * to the Memcell Messaging Queue
@@ -59,7 +65,8 @@ public class MemcellMessagingProducerSystem extends Producer {
      */
     @Override
     public void sendMessage(Message message) {
-        CommandResponse response = producer.sendMessage(this.getQueueName(), message);
+        message.buildMessage();
+        CommandResponse response = producer.sendMessage(this.getQueueName(), this.serializeMessage(message));
         if(response.getCommandExecutionStatus()== CommandExecutionStatus.FAILED){
             throw new RuntimeException(String.format(" Failed to send message to (%s, %s)", this.messagingServiceInstance, this,getQueueName()));
         }
@@ -71,6 +78,53 @@ public class MemcellMessagingProducerSystem extends Producer {
         sendMessage(message);
     }
 
+    /**
+     * Sends several messages to the Memcell Messaging Queue with a single enqueue command
+     * @param messages Messages to be sent, in order
+     */
+    @Override
+    public void sendMessages(List<? extends Message> messages) {
+        if(messages.isEmpty()){
+            return;
+        }
+        List<byte[]> serializedMessages = messages.stream()
+                .map(message -> {
+                    message.buildMessage();
+                    return this.serializeMessage(message);
+                })
+                .collect(Collectors.toList());
+        CommandResponse response = producer.sendMessages(this.getQueueName(), serializedMessages);
+        if(response.getCommandExecutionStatus()== CommandExecutionStatus.FAILED){
+            throw new RuntimeException(String.format(" Failed to send %s messages to (%s, %s)", messages.size(),
+                    this.messagingServiceInstance, this.getQueueName()));
+        }
+    }
+
+    @Override
+    public void sendMessages(String key, List<? extends Message> messages) {
+        LOGGER.warn(String.format("Memcell Messaging Producer does not need key. Ignoring the key %s", key));
+        sendMessages(messages);
+    }
+
+    /**
+     * Sends a message to the Memcell Messaging Queue without waiting for it to be enqueued. The key, if any, is ignored
+     * @param key Key of the message
+     * @param message Message to be sent
+     * @return Future completed once the message is enqueued
+     */
+    @Override
+    protected CompletableFuture<SendResult> sendAsync(Optional<String> key, Message message) {
+        message.buildMessage();
+        return producer.sendMessageAsync(this.getQueueName(), this.serializeMessage(message))
+                .thenApply(response -> {
+                    if(response.getCommandExecutionStatus()== CommandExecutionStatus.FAILED){
+                        throw new RuntimeException(String.format(" Failed to send message to (%s, %s)",
+                                this.messagingServiceInstance, this.getQueueName()));
+                    }
+                    return this.getSendResult(key, message);
+                });
+    }
+
     /**
      * Closes the Memcell Messaging Producer Instance
      */
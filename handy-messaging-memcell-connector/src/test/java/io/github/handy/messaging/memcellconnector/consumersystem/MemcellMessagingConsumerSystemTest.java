@@ -27,7 +27,7 @@ package io.github.handy.messaging.memcellconnector.consumersystem;
 import akka.actor.ActorSystem;
 import akka.testkit.TestKit;
 import io.github.handy.messaging.interfaces.Consumer;
-import io.github.handy.messaging.interfaces.EnqueueMessage;
+import io.github.handy.messaging.interfaces.EnqueueMessages;
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.memcell.clients.MemcellMessagingAdministrator;
 import io.github.handy.messaging.memcell.clients.MemcellMessagingProducer;
@@ -80,7 +80,7 @@ public class MemcellMessagingConsumerSystemTest {
         consumer.startPolling();
         MemcellMessagingProducer producer = new MemcellMessagingProducer(TEST_SERVICE);
         producer.sendMessage(TEST_QUEUE, getMessage());
-        consumerProbe.expectMsgClass(EnqueueMessage.class);
+        consumerProbe.expectMsgClass(EnqueueMessages.class);
         consumer.stopPolling();
 
     }
@@ -24,8 +24,11 @@
 
 package io.github.handy.messaging.memcellconnector.producersystem;
 
+import io.github.handy.messaging.interfaces.GzipPayloadCodec;
 import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.PayloadCodecs;
 import io.github.handy.messaging.interfaces.Producer;
+import io.github.handy.messaging.interfaces.SendResult;
 import io.github.handy.messaging.memcell.clients.MemcellMessagingConsumer;
 import io.github.handy.messaging.memcell.clients.MemcellMessagingAdministrator;
 import io.github.handy.messaging.memcellconnector.Constants;
@@ -36,6 +39,8 @@ import org.junit.Before;
 import org.junit.Test;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class MemcellMessagingProducerSystemTest {
 
@@ -77,6 +82,94 @@ public class MemcellMessagingProducerSystemTest {
         }
     }
 
+    @Test
+    public void producerSendsCompressedMessageTest(){
+        try(MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(TEST_SERVICE, TEST_QUEUE, TEST_APP, SimpleMessage.class)){
+            producer = new MemcellMessagingProducerBuilder().setProducerProperties(getProducerProperties()).build();
+            consumer.setPayloadDecompression(true, PayloadCodecs.DEFAULT_MAX_DECOMPRESSED_SIZE);
+            producer.setPayloadCodec(Optional.of(PayloadCodecs.getCodec(GzipPayloadCodec.NAME)), 0);
+            SimpleMessage message = (SimpleMessage) getMessage();
+            message.setPayload("{\"field\": \"value\"}".repeat(100).getBytes());
+            message.buildMessage();
+            producer.sendMessage(message);
+            List<Message> messageList = consumer.readMessages(1000);
+            Assert.assertEquals(1, messageList.size());
+            Assert.assertEquals(message.getId(), messageList.get(0).getId());
+            Assert.assertArrayEquals(message.getPayload(), ((SimpleMessage) messageList.get(0)).getPayload());
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void compressedMessageAboveMaxDecompressedSizeRejectedTest(){
+        try(MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(TEST_SERVICE, TEST_QUEUE, TEST_APP, SimpleMessage.class)){
+            consumer.setPayloadDecompression(true, 1024);
+            producer = new MemcellMessagingProducerBuilder().setProducerProperties(getProducerProperties()).build();
+            producer.setPayloadCodec(Optional.of(PayloadCodecs.getCodec(GzipPayloadCodec.NAME)), 0);
+            SimpleMessage message = (SimpleMessage) getMessage();
+            message.setPayload(new byte[64 * 1024]);
+            message.buildMessage();
+            producer.sendMessage(message);
+            consumer.readMessages(1000);
+        }
+    }
+
+    @Test
+    public void producerSendsBatchTest(){
+        try(MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(TEST_SERVICE, TEST_QUEUE, TEST_APP, SimpleMessage.class)){
+            producer = new MemcellMessagingProducerBuilder().setProducerProperties(getProducerProperties()).build();
+            List<Message> batch = new ArrayList<>();
+            for(int i = 0; i < 5; i++){
+                SimpleMessage message = (SimpleMessage) getMessage();
+                message.setMessageId(String.format("msg-%s", i));
+                batch.add(message);
+            }
+            producer.sendMessages(batch);
+            List<Message> messageList = consumer.readMessages(1000);
+            Assert.assertEquals(5, messageList.size());
+            for(int i = 0; i < 5; i++){
+                Assert.assertEquals(String.format("msg-%s", i), messageList.get(i).getId());
+            }
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void producerBatchEncountersExceptionWithWrongParams(){
+        Map<String, Object> props = getProducerProperties();
+        props.put(Constants.QUEUE_NAME, "wrong_queue");
+        producer = new MemcellMessagingProducerBuilder().setProducerProperties(props).build();
+        producer.sendMessages(List.of(getMessage()));
+    }
+
+    @Test
+    public void producerSendsMessagesAsyncTest(){
+        try(MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(TEST_SERVICE, TEST_QUEUE, TEST_APP, SimpleMessage.class)){
+            producer = new MemcellMessagingProducerBuilder().setProducerProperties(getProducerProperties()).build();
+            producer.setMaxInFlight(5);
+            List<CompletableFuture<SendResult>> sendHandles = new ArrayList<>();
+            for(int i = 0; i < 5; i++){
+                SimpleMessage message = (SimpleMessage) getMessage();
+                message.setMessageId(String.format("msg-%s", i));
+                sendHandles.add(producer.sendMessageAsync(message));
+            }
+            for(int i = 0; i < 5; i++){
+                SendResult sendResult = sendHandles.get(i).join();
+                Assert.assertEquals(TEST_QUEUE, sendResult.getQueueName());
+                Assert.assertEquals(String.format("msg-%s", i), sendResult.getMessageId());
+            }
+            List<Message> messageList = consumer.readMessages(1000);
+            Assert.assertEquals(5, messageList.size());
+        }
+    }
+
+    @Test
+    public void producerAsyncSendFailsWithWrongParams(){
+        Map<String, Object> props = getProducerProperties();
+        props.put(Constants.QUEUE_NAME, "wrong_queue");
+        producer = new MemcellMessagingProducerBuilder().setProducerProperties(props).build();
+        CompletableFuture<SendResult> sendHandle = producer.sendMessageAsync(getMessage());
+        Assert.assertThrows(CompletionException.class, sendHandle::join);
+    }
+
     @Test(expected = RuntimeException.class)
     public void producerEncountersExceptionWithWrongParams(){
         Map<String, Object> props = getProducerProperties();
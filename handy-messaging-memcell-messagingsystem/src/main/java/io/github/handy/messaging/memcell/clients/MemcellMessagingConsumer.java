@@ -25,6 +25,8 @@
 package io.github.handy.messaging.memcell.clients;
 
 import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.MessageFactories;
+import io.github.handy.messaging.interfaces.PayloadCodecs;
 import io.github.handy.messaging.memcell.messagingservice.CommandCapsuleBroker;
 import io.github.handy.messaging.memcell.types.commands.FetchEnqueuedMessageCommand;
 import io.github.handy.messaging.memcell.types.commands.RegisterSubscriberCommand;
@@ -35,10 +37,11 @@ import io.github.handy.messaging.memcell.types.responses.FetchEnqueuedMessagesRe
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 /**
  * Memcell Messaging Consumer is a client class that reads messages from a Memcell Messaging queue
  */
@@ -46,6 +49,8 @@ public class MemcellMessagingConsumer implements AutoCloseable {
 
     String serviceInstanceId, queueName, consumerId;
     Class<?> messageType;
+    Supplier<? extends Message> messageFactory;
+    Optional<Integer> maxDecompressedSize;
 
     private Logger LOGGER = LoggerFactory.getLogger(MemcellMessagingConsumer.class);
 
@@ -61,6 +66,8 @@ public class MemcellMessagingConsumer implements AutoCloseable {
         this.consumerId = consumerId;
         this.queueName = queueName;
         this.messageType = messageType;
+        this.messageFactory = MessageFactories.getFactory(messageType);
+        this.maxDecompressedSize = Optional.empty();
         try {
             RegisterSubscriberCommand registerSubscriberCommand = new RegisterSubscriberCommand(queueName, consumerId);
             CommandResponse subscriberRegisterResponse = new CommandCapsuleBroker<CommandResponse>()
@@ -74,6 +81,15 @@ public class MemcellMessagingConsumer implements AutoCloseable {
         }
     }
 
+    /**
+     * Function to set whether the consumer decompresses the messages compressed by a payload codec
+     * @param decompressionEnabled - True to decompress compressed messages
+     * @param maxDecompressedSize - Maximum size of a decompressed message in bytes
+     */
+    public void setPayloadDecompression(boolean decompressionEnabled, int maxDecompressedSize){
+        this.maxDecompressedSize = decompressionEnabled ? Optional.of(maxDecompressedSize) : Optional.empty();
+    }
+
     /**
      * Function to read messages from the queue
      * @param waitDurationMillis - Duration to wait for messages
@@ -81,22 +97,32 @@ public class MemcellMessagingConsumer implements AutoCloseable {
      * @return List of messages read
      */
     public <T extends Message> List<T> readMessages(long waitDurationMillis){
+        return this.readMessages(waitDurationMillis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Function to read at most maxMessages messages from the queue. Messages beyond the limit stay
+     * enqueued for the next read
+     * @param waitDurationMillis - Duration to wait for messages
+     * @param maxMessages - Maximum number of messages to read
+     * @param <T> - Type of message to read
+     * @return List of messages read
+     */
+    public <T extends Message> List<T> readMessages(long waitDurationMillis, int maxMessages){
         try {
             Thread.sleep(waitDurationMillis);
-            FetchEnqueuedMessageCommand fetchEnqueuedCommand = new FetchEnqueuedMessageCommand(this.queueName, this.consumerId);
+            FetchEnqueuedMessageCommand fetchEnqueuedCommand = new FetchEnqueuedMessageCommand(this.queueName,
+                    this.consumerId, maxMessages);
             FetchEnqueuedMessagesResponse enqueuedMessageResponse = new CommandCapsuleBroker<FetchEnqueuedMessagesResponse>()
                     .sendCommandCapsule(fetchEnqueuedCommand, this.serviceInstanceId).get();
             if(enqueuedMessageResponse.getCommandExecutionStatus()==CommandExecutionStatus.SUCCESS) {
                 List<T> collectedMessages = new ArrayList<>();
                 enqueuedMessageResponse.getFetchedMessages().forEach(messageByteData -> {
-                    try {
-                        T messageInstance = (T) this.messageType.getConstructor().newInstance();
-                        messageInstance.deserialize(messageByteData);
-                        collectedMessages.add(messageInstance);
-                    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException |
-                             InvocationTargetException ex){
-                        throw new RuntimeException(ex.getMessage());
-                    }
+                    T messageInstance = (T) this.messageFactory.get();
+                    messageInstance.deserialize(this.maxDecompressedSize
+                            .map(maxSize -> PayloadCodecs.decode(messageByteData, maxSize))
+                            .orElse(messageByteData));
+                    collectedMessages.add(messageInstance);
                 });
                 return collectedMessages;
             } else {
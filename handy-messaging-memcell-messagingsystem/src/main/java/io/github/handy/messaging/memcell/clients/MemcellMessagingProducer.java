@@ -28,6 +28,8 @@ import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.memcell.messagingservice.CommandCapsuleBroker;
 import io.github.handy.messaging.memcell.types.commands.EnqueueMessageCommand;
 import io.github.handy.messaging.memcell.types.responses.CommandResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 
@@ -49,7 +51,17 @@ public class MemcellMessagingProducer {
      */
     public CommandResponse sendMessage(String queueName, Message message){
         message.buildMessage();
-        EnqueueMessageCommand enqueueCommand = new EnqueueMessageCommand(queueName, message.serialize());
+        return this.sendMessage(queueName, message.serialize());
+    }
+
+    /**
+     * Function to send an already serialized message to a Memcell Messaging queue synchronously
+     * @param queueName - Name of the queue
+     * @param serializedMessage - Serialized message to send
+     * @return CommandResponse
+     */
+    public CommandResponse sendMessage(String queueName, byte[] serializedMessage){
+        EnqueueMessageCommand enqueueCommand = new EnqueueMessageCommand(queueName, serializedMessage);
         try {
             FutureTask<CommandResponse> enqueueResponse = new CommandCapsuleBroker<CommandResponse>()
                     .sendCommandCapsule(enqueueCommand, this.serviceInstanceId);
@@ -59,6 +71,35 @@ public class MemcellMessagingProducer {
         }
     }
 
+    /**
+     * Function to send several serialized messages to a Memcell Messaging queue synchronously, in a single command
+     * @param queueName - Name of the queue
+     * @param serializedMessages - Serialized messages to send, in order
+     * @return CommandResponse
+     */
+    public CommandResponse sendMessages(String queueName, List<byte[]> serializedMessages){
+        EnqueueMessageCommand enqueueCommand = new EnqueueMessageCommand(queueName, serializedMessages);
+        try {
+            FutureTask<CommandResponse> enqueueResponse = new CommandCapsuleBroker<CommandResponse>()
+                    .sendCommandCapsule(enqueueCommand, this.serviceInstanceId);
+            return enqueueResponse.get();
+        } catch (InterruptedException | ExecutionException ex){
+            throw new RuntimeException(ex.getMessage());
+        }
+    }
+
+    /**
+     * Function to send a serialized message to a Memcell Messaging queue without blocking
+     * @param queueName - Name of the queue
+     * @param serializedMessage - Serialized message to send
+     * @return CommandResponse future, completed once the messaging service has enqueued the message
+     */
+    public CompletableFuture<CommandResponse> sendMessageAsync(String queueName, byte[] serializedMessage){
+        EnqueueMessageCommand enqueueCommand = new EnqueueMessageCommand(queueName, serializedMessage);
+        return new CommandCapsuleBroker<CommandResponse>()
+                .sendCommandCapsuleAsync(enqueueCommand, this.serviceInstanceId);
+    }
+
     /**
      * Function to send a message to a Memcell Messaging queue asynchronously
      * @param queueName - Name of the queue
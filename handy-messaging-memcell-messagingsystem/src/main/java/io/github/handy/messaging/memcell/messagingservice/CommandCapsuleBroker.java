@@ -29,6 +29,7 @@ import io.github.handy.messaging.memcell.types.CommandCapsule;
 import io.github.handy.messaging.memcell.types.ResponseCapsule;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.FutureTask;
 /**
  * CommandCapsuleBroker is the broker between the memcell messaging client and the messaging service
@@ -54,6 +55,18 @@ public class CommandCapsuleBroker<T extends ResponseCapsule> {
         return this.responseFuture;
     }
 
+    /**
+     * Function to send a command capsule to the messaging service, completing the returned future with its response
+     * @param command - Command to send
+     * @param messagingService - Name of the messaging service
+     * @return CompletableFuture
+     */
+    public CompletableFuture<T> sendCommandCapsuleAsync(CommandCapsule command, String messagingService){
+        CompletableFuture<T> response = new CompletableFuture<>();
+        command.setCompletionCallback(responseCapsule -> response.complete((T) responseCapsule));
+        MemcellMessagingRegistry.getMessagingService(messagingService).tell(command, ActorRef.noSender());
+        return response;
+    }
 
     private void onResponseCallback(ResponseCapsule responseCapsule){
             this.commandResponse = Optional.of((T)responseCapsule);
@@ -58,28 +58,29 @@ public class SubscriberActor extends AbstractActor {
     @Override
     public Receive createReceive() {
         return new ReceiveBuilder().match(EnqueueMessageCommand.class, args->{
-            this.onEnqueueMessage(args.getMessage());
+            this.onEnqueueMessages(args.getMessages());
         }).match(FetchEnqueuedMessageCommand.class, args->{
-            this.onFetchEnqueuedMessages(args.getCompletionCallback());
+            this.onFetchEnqueuedMessages(args.getMaxMessages(), args.getCompletionCallback());
         }).build();
     }
 
     /**
-     * Function to enqueue a message
-     * @param message - Message to enqueue
+     * Function to enqueue messages
+     * @param messages - Messages to enqueue, in order
      */
-    private void onEnqueueMessage(byte[] message){
-        this.messageQueue.add(message);
-        LOGGER.info("Message enqueued");
+    private void onEnqueueMessages(List<byte[]> messages){
+        this.messageQueue.addAll(messages);
+        LOGGER.info(String.format("%s messages enqueued", messages.size()));
     }
 
     /**
      * Function to fetch enqueued messages
+     * @param maxMessages - Maximum number of messages to fetch
      * @param completionCallback - Callback to call after fetching messages
      */
-    private void onFetchEnqueuedMessages(CompletionCallback completionCallback){
+    private void onFetchEnqueuedMessages(int maxMessages, CompletionCallback completionCallback){
         List<byte[]> collectedMessages = new ArrayList<>();
-        while(!this.messageQueue.isEmpty()){
+        while(!this.messageQueue.isEmpty() && collectedMessages.size() < maxMessages){
             collectedMessages.add(this.messageQueue.remove());
         }
         FetchEnqueuedMessagesResponse response = new FetchEnqueuedMessagesResponse(CommandExecutionStatus.SUCCESS,
@@ -26,13 +26,15 @@ package io.github.handy.messaging.memcell.types.commands;
 
 import io.github.handy.messaging.memcell.types.CommandCapsule;
 
+import java.util.List;
+
 /**
- * Command to enqueue a message to a Memcell Messaging queue
+ * Command to enqueue one or more messages to a Memcell Messaging queue
  */
 public class EnqueueMessageCommand extends CommandCapsule {
 
     String queueName;
-    byte[] message;
+    List<byte[]> messages;
 
     /**
      * Constructor to create an EnqueueMessageCommand instance
@@ -40,8 +42,17 @@ public class EnqueueMessageCommand extends CommandCapsule {
      * @param message - Message to be enqueued
      */
     public EnqueueMessageCommand(String queueName, byte[] message){
+        this(queueName, List.of(message));
+    }
+
+    /**
+     * Constructor to create an EnqueueMessageCommand instance enqueuing several messages at once
+     * @param queueName - Name of the queue to which the messages are to be enqueued
+     * @param messages - Messages to be enqueued, in order
+     */
+    public EnqueueMessageCommand(String queueName, List<byte[]> messages){
         this.queueName = queueName;
-        this.message = message;
+        this.messages = messages;
     }
 
     /**
@@ -53,11 +64,19 @@ public class EnqueueMessageCommand extends CommandCapsule {
     }
 
     /**
-     * Get the message to be enqueued
+     * Get the message to be enqueued. For a command enqueuing several messages, the first of them
      * @return - Message
      */
     public byte[] getMessage() {
-        return message;
+        return messages.get(0);
+    }
+
+    /**
+     * Get the messages to be enqueued
+     * @return - Messages, in order
+     */
+    public List<byte[]> getMessages() {
+        return messages;
     }
 
 }
@@ -32,6 +32,7 @@ import io.github.handy.messaging.memcell.types.CommandCapsule;
 public class FetchEnqueuedMessageCommand extends CommandCapsule {
 
     String queueName, subscriberId;
+    int maxMessages;
 
     /**
      * Constructor to create a FetchEnqueuedMessageCommand instance
@@ -40,8 +41,21 @@ public class FetchEnqueuedMessageCommand extends CommandCapsule {
      */
     public FetchEnqueuedMessageCommand(String queueName,
                                        String subscriberId){
+        this(queueName, subscriberId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor to create a FetchEnqueuedMessageCommand instance that fetches at most maxMessages messages
+     * @param queueName - Name of the queue from which the message is to be fetched
+     * @param subscriberId - Subscriber ID
+     * @param maxMessages - Maximum number of messages to fetch
+     */
+    public FetchEnqueuedMessageCommand(String queueName,
+                                       String subscriberId,
+                                       int maxMessages){
         this.queueName = queueName;
         this.subscriberId = subscriberId;
+        this.maxMessages = maxMessages;
     }
 
     /**
@@ -59,4 +73,12 @@ public class FetchEnqueuedMessageCommand extends CommandCapsule {
     public String getQueueName() {
         return queueName;
     }
+
+    /**
+     * Get the maximum number of messages to be fetched
+     * @return - Maximum number of messages
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
 }
@@ -32,6 +32,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -54,6 +55,39 @@ public class MemcellMessagingProducerConsumerTest {
 
     }
 
+    @Test
+    public void readMessagesHonoursLimit(){
+        MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(messagingInstance, "testQueue","testConsumerY", SimpleMessage.class);
+        MemcellMessagingProducer producer = new MemcellMessagingProducer(messagingInstance);
+        for(int i = 0; i < 5; i++){
+            producer.sendMessage("testQueue", getMessage());
+        }
+        List<SimpleMessage> firstRead = consumer.readMessages(1000L, 3);
+        Assert.assertEquals(3, firstRead.size());
+        List<SimpleMessage> secondRead = consumer.readMessages(0L, 3);
+        Assert.assertEquals(2, secondRead.size());
+    }
+
+    @Test
+    public void sendMessagesEnqueuesBatchInOrder(){
+        MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(messagingInstance, "testQueue","testConsumerZ", SimpleMessage.class);
+        MemcellMessagingProducer producer = new MemcellMessagingProducer(messagingInstance);
+        List<byte[]> batch = new ArrayList<>();
+        for(int i = 0; i < 5; i++){
+            SimpleMessage msg = getMessage();
+            msg.setMessageId(String.format("msg-%s", i));
+            msg.buildMessage();
+            batch.add(msg.serialize());
+        }
+        CommandResponse response = producer.sendMessages("testQueue", batch);
+        Assert.assertEquals(CommandExecutionStatus.SUCCESS, response.getCommandExecutionStatus());
+        List<SimpleMessage> msgs = consumer.readMessages(1000L);
+        Assert.assertEquals(5, msgs.size());
+        for(int i = 0; i < 5; i++){
+            Assert.assertEquals(String.format("msg-%s", i), msgs.get(i).getId());
+        }
+    }
+
     @Test(expected = RuntimeException.class)
     public void consumerFailNonExistingQueue(){
         MemcellMessagingConsumer consumer = new MemcellMessagingConsumer(messagingInstance, "nonExistingQueue","testConsumerX", SimpleMessage.class);
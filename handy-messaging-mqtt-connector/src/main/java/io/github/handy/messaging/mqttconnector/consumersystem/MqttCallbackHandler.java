@@ -67,7 +67,7 @@ public class MqttCallbackHandler implements MqttCallback {
     public void messageArrived(String s, MqttMessage mqttMessage) throws Exception {
         byte[] payload = mqttMessage.getPayload();
         Message deserializedMsg = this.consumerSystem.getMessage(payload);
-        this.consumerSystem.onMessage(deserializedMsg);
+        this.consumerSystem.onMessage(deserializedMsg, mqttMessage);
     }
 
     /**
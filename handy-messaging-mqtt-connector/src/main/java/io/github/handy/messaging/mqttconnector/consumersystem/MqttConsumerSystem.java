@@ -30,8 +30,18 @@ import org.eclipse.paho.client.mqttv3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * MqttConsumerSystem is the connector wrapping a MQTT consumer. This class is responsible for receiving messages from the MQTT broker.
+ * Messages are handed over to the channel without blocking the callback thread of the client. Messages the channel has
+ * no room for are held, unacknowledged, until it drains its buffer, and the acknowledgements of the messages handed
+ * over are withheld while the flow controller is paused, so that the broker stops delivering while the channel is not
+ * keeping up. The held messages are handed over from a thread of the consumer as the channel drains its buffer.
  */
 public class MqttConsumerSystem extends Consumer {
 
@@ -40,6 +50,9 @@ public class MqttConsumerSystem extends Consumer {
     private Logger LOGGER = LoggerFactory.getLogger(MqttConsumerSystem.class);
     private String queueName;
     private MqttConnectOptions connectOptions;
+    private Deque<MqttDelivery> heldDeliveries;
+    private Deque<MqttDelivery> unacknowledgedDeliveries;
+    private ScheduledExecutorService deliveryDrainer;
 
     /**
      * Constructor for MqttConsumerSystem
@@ -52,7 +65,10 @@ public class MqttConsumerSystem extends Consumer {
             this.queueName = consumerBuilder.getQueueName();
             this.messageTypeClass = consumerBuilder.getMessageTypeClass();
             this.connectOptions = consumerBuilder.getConnectOptions();
+            this.heldDeliveries = new ArrayDeque<>();
+            this.unacknowledgedDeliveries = new ArrayDeque<>();
             this.consumerClient.setCallback(new MqttCallbackHandler(this));
+            this.consumerClient.setManualAcks(true);
             LOGGER.info("MQTT consumer initialized for topic {}", this.queueName);
         } catch (MqttException ex){
             throw new RuntimeException(ex.getMessage());
@@ -60,11 +76,57 @@ public class MqttConsumerSystem extends Consumer {
     }
 
     /**
-     * Callback for message received
+     * A message delivered by the broker, with the MQTT message it is acknowledged by
+     */
+    private static final class MqttDelivery {
+        private final Message message;
+        private final MqttMessage mqttMessage;
+
+        private MqttDelivery(Message message, MqttMessage mqttMessage){
+            this.message = message;
+            this.mqttMessage = mqttMessage;
+        }
+    }
+
+    /**
+     * Callback for message received. Never blocks the callback thread of the client
      * @param msg - Message received
+     * @param mqttMessage - MQTT message the message was received in
      */
-    public void onMessage(Message msg){
-        this.onMessageReceived(msg);
+    public void onMessage(Message msg, MqttMessage mqttMessage){
+        synchronized (this.heldDeliveries){
+            this.heldDeliveries.addLast(new MqttDelivery(msg, mqttMessage));
+            this.drainDeliveries();
+        }
+    }
+
+    /**
+     * Hands the held messages over to the channel in order as far as it has room for them, and acknowledges the
+     * messages handed over unless the flow controller is paused
+     */
+    private void drainDeliveries(){
+        synchronized (this.heldDeliveries){
+            while(!this.heldDeliveries.isEmpty() && this.offerMessage(this.heldDeliveries.peekFirst().message)){
+                this.unacknowledgedDeliveries.addLast(this.heldDeliveries.pollFirst());
+            }
+            while(!this.unacknowledgedDeliveries.isEmpty() && !this.getFlowController().isPaused()){
+                this.acknowledge(this.unacknowledgedDeliveries.pollFirst().mqttMessage);
+            }
+        }
+    }
+
+    /**
+     * Acknowledge a message handed over to the channel
+     * @param mqttMessage - Message received
+     */
+    private void acknowledge(MqttMessage mqttMessage){
+        try {
+            this.consumerClient.messageArrivedComplete(mqttMessage.getId(), mqttMessage.getQos());
+        } catch (MqttException ex){
+            LOGGER.error(String.format("MQTT acknowledgement error for topic %s. Details - %s",
+                    this.queueName,
+                    ex.getMessage()));
+        }
     }
 
     /**
@@ -72,6 +134,8 @@ public class MqttConsumerSystem extends Consumer {
      */
     @Override
     public void startPolling() {
+        this.deliveryDrainer = Executors.newSingleThreadScheduledExecutor();
+        this.deliveryDrainer.scheduleWithFixedDelay(this::drainDeliveries, 50, 50, TimeUnit.MILLISECONDS);
         try {
             this.consumerClient.connect(this.connectOptions);
             this.consumerClient.subscribe(this.queueName);
@@ -87,6 +151,9 @@ public class MqttConsumerSystem extends Consumer {
      */
     @Override
     public void stopPolling() {
+        if(this.deliveryDrainer != null){
+            this.deliveryDrainer.shutdownNow();
+        }
         try {
             this.consumerClient.disconnect();
         } catch (MqttException ex){
@@ -27,13 +27,23 @@ package io.github.handy.messaging.mqttconnector.producersystem;
 
 import io.github.handy.messaging.interfaces.Message;
 import io.github.handy.messaging.interfaces.Producer;
+import io.github.handy.messaging.interfaces.SendResult;
 import org.eclipse.paho.client.mqttv3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * MQTTProducerSystem is a connector wrapper over MQTT Producer client.
- * This class is responsible for sending messages to the MQTT broker.
+ * This class is responsible for sending messages to the MQTT broker. Every send connects, publishes and disconnects
+ * the single client of the producer, so all sends, synchronous or not, run one after the other on a thread of the
+ * producer; synchronous sends wait for theirs to complete.
  */
 
 public class MqttProducerSystem extends Producer {
@@ -42,6 +52,7 @@ public class MqttProducerSystem extends Producer {
     private String publisherId;
     private int qos;
     private MqttConnectOptions connectionOptions;
+    private ExecutorService publisherExecutor;
     private Logger LOGGER = LoggerFactory.getLogger(MqttProducerSystem.class);
 
     /**
@@ -55,6 +66,7 @@ public class MqttProducerSystem extends Producer {
             this.publisherClient = producerBuilder.getPublisher();
             this.qos = producerBuilder.getQos();
             this.connectionOptions = producerBuilder.getConnectOptions();
+            this.publisherExecutor = Executors.newSingleThreadExecutor();
             LOGGER.info("MQTT Producer initialized for topic - {}", this.getQueueName());
         } catch (MqttException ex){
             throw new RuntimeException(ex.getMessage());
@@ -68,19 +80,7 @@ public class MqttProducerSystem extends Producer {
      */
     @Override
     public void sendMessage(Message message) {
-        try {
-            LOGGER.info("Sending message to the channel %s", this.getQueueName());
-            MqttMessage mqttMessage = new MqttMessage();
-            mqttMessage.setPayload(message.serialize());
-            mqttMessage.setQos(this.qos);
-            publisherClient.connect(this.connectionOptions);
-            publisherClient.publish(this.getQueueName(), mqttMessage);
-            publisherClient.disconnect();
-            LOGGER.info("MQTT Producer sent message to topic {}", this.getQueueName());
-
-        } catch (MqttException ex){
-            throw new RuntimeException(ex.getMessage());
-        }
+        this.runOnPublisherThread(() -> this.publishMessage(this.getQueueName(), message));
     }
 
     /**
@@ -90,30 +90,112 @@ public class MqttProducerSystem extends Producer {
      */
     @Override
     public void sendMessage(String key, Message message) {
+        this.runOnPublisherThread(() -> this.publishMessage(String.format("%s/%s", this.getQueueName(), key), message));
+    }
+
+    /**
+     * Send several messages to the MQTT broker over a single connection
+     * @param messages - Messages to be sent, in order
+     */
+    @Override
+    public void sendMessages(List<? extends Message> messages) {
+        this.runOnPublisherThread(() -> this.publishMessages(this.getQueueName(), messages));
+    }
+
+    /**
+     * Send several messages to the MQTT broker over a single connection
+     * @param key - Key for the messages
+     * @param messages - Messages to be sent, in order
+     */
+    @Override
+    public void sendMessages(String key, List<? extends Message> messages) {
+        this.runOnPublisherThread(() -> this.publishMessages(String.format("%s/%s", this.getQueueName(), key), messages));
+    }
+
+    /**
+     * Send message to the MQTT broker without blocking the caller. The send is queued behind the other sends of the
+     * producer, in the order they were made
+     * @param key - Key for the message, if any
+     * @param message - Message to be sent
+     * @return - Future completed once the message is published
+     */
+    @Override
+    protected CompletableFuture<SendResult> sendAsync(Optional<String> key, Message message) {
+        return CompletableFuture.supplyAsync(() -> {
+            this.publishMessage(key.map(messageKey -> String.format("%s/%s", this.getQueueName(), messageKey))
+                    .orElse(this.getQueueName()), message);
+            return this.getSendResult(key, message);
+        }, this.publisherExecutor);
+    }
+
+    /**
+     * Runs a use of the client on the publisher thread and waits for it to complete
+     * @param clientTask - Task using the client
+     */
+    private void runOnPublisherThread(Runnable clientTask) {
+        try {
+            this.publisherExecutor.submit(clientTask).get();
+        } catch (ExecutionException ex){
+            if(ex.getCause() instanceof RuntimeException){
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new RuntimeException(ex.getCause());
+        } catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the MQTT publisher", ex);
+        }
+    }
+
+    private void publishMessage(String topic, Message message) {
         try {
-            LOGGER.info("Sending message to the channel %s/%s", this.getQueueName(), key);
+            LOGGER.info("Sending message to the channel {}", topic);
             MqttMessage mqttMessage = new MqttMessage();
-            mqttMessage.setPayload(message.serialize());
+            mqttMessage.setPayload(this.serializeMessage(message));
             mqttMessage.setQos(this.qos);
             publisherClient.connect(this.connectionOptions);
-            publisherClient.publish(String.format("%s/%s", this.getQueueName(), key), mqttMessage);
-            publisherClient.disconnect();
-            LOGGER.info("MQTT Producer sent message with key {} to topic {}", key, this.getQueueName());
+            try {
+                publisherClient.publish(topic, mqttMessage);
+            } finally {
+                publisherClient.disconnect();
+            }
+            LOGGER.info("MQTT Producer sent message to topic {}", topic);
+        } catch (MqttException ex) {
+            throw new RuntimeException(ex.getMessage());
+        }
+    }
+
+    private void publishMessages(String topic, List<? extends Message> messages) {
+        try {
+            publisherClient.connect(this.connectionOptions);
+            try {
+                for(Message message: messages){
+                    MqttMessage mqttMessage = new MqttMessage();
+                    mqttMessage.setPayload(this.serializeMessage(message));
+                    mqttMessage.setQos(this.qos);
+                    publisherClient.publish(topic, mqttMessage);
+                }
+            } finally {
+                publisherClient.disconnect();
+            }
+            LOGGER.info("MQTT Producer sent {} messages to topic {}", messages.size(), topic);
         } catch (MqttException ex) {
             throw new RuntimeException(ex.getMessage());
         }
     }
 
     /**
-     * Close the MQTT Producer Client
+     * Close the MQTT Producer Client once the sends queued before have completed
      */
     @Override
     public void close() {
-        try {
-            this.publisherClient.close();
-            LOGGER.info("MQTT Producer for topic {} closed", this.getQueueName());
-        } catch (MqttException ex){
-            throw new RuntimeException(ex.getMessage());
-        }
+        this.runOnPublisherThread(() -> {
+            try {
+                this.publisherClient.close();
+            } catch (MqttException ex){
+                throw new RuntimeException(ex.getMessage());
+            }
+        });
+        this.publisherExecutor.shutdown();
+        LOGGER.info("MQTT Producer for topic {} closed", this.getQueueName());
     }
 }
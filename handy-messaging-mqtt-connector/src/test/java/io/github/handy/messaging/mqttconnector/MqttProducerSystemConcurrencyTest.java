@@ -0,0 +1,149 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Aron Sajan Philip
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.handy.messaging.mqttconnector;
+
+import io.github.handy.messaging.interfaces.Message;
+import io.github.handy.messaging.interfaces.SendResult;
+import io.github.handy.messaging.mqttconnector.producersystem.MqttProducerBuilder;
+import io.github.handy.messaging.mqttconnector.producersystem.MqttProducerSystem;
+import io.github.handy.messaging.types.simplemessage.SimpleMessage;
+import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MqttProducerSystemConcurrencyTest {
+
+    /**
+     * Client failing any use that overlaps with another, as the connection of a real client would be cut from under
+     * a publish by a concurrent disconnect
+     */
+    private static final class ExclusiveMqttClient extends MqttClient {
+        private final AtomicBoolean connected = new AtomicBoolean(false);
+        private final AtomicInteger publishedCount = new AtomicInteger();
+
+        ExclusiveMqttClient() throws MqttException {
+            super("tcp://localhost:1883", "exclusive-client", new MemoryPersistence());
+        }
+
+        @Override
+        public void connect(MqttConnectOptions options) throws MqttException {
+            if(!this.connected.compareAndSet(false, true)){
+                throw new MqttException(MqttException.REASON_CODE_CLIENT_CONNECTED);
+            }
+        }
+
+        @Override
+        public void publish(String topic, MqttMessage message) throws MqttException {
+            if(!this.connected.get()){
+                throw new MqttException(MqttException.REASON_CODE_CLIENT_NOT_CONNECTED);
+            }
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+            }
+            if(!this.connected.get()){
+                throw new MqttException(MqttException.REASON_CODE_CLIENT_NOT_CONNECTED);
+            }
+            this.publishedCount.incrementAndGet();
+        }
+
+        @Override
+        public void disconnect() throws MqttException {
+            if(!this.connected.compareAndSet(true, false)){
+                throw new MqttException(MqttException.REASON_CODE_CLIENT_ALREADY_DISCONNECTED);
+            }
+        }
+
+        @Override
+        public boolean isConnected() {
+            return this.connected.get();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private Message getMessage(int idx){
+        SimpleMessage contentMsg = new SimpleMessage();
+        contentMsg.setContentSchema(String.class.toString());
+        contentMsg.setDateTime(Optional.of(Date.from(Instant.now())));
+        contentMsg.setMessageId(String.format("msg-%s", idx));
+        contentMsg.setPayload("Hello, this is a sample message".getBytes());
+        contentMsg.setSender("app-1");
+        contentMsg.buildMessage();
+        return contentMsg;
+    }
+
+    @Test
+    public void concurrentSyncAndAsyncSendsTest() throws Exception {
+        ExclusiveMqttClient client = new ExclusiveMqttClient();
+        MqttProducerBuilder producerBuilder = new MqttProducerBuilder(){
+            @Override
+            public IMqttClient getPublisher() {
+                return client;
+            }
+        };
+        producerBuilder.setProducerProperties(new HashMap<>(){{
+            put(Constants.QUEUE_NAME, "abc/def");
+        }});
+        MqttProducerSystem producer = new MqttProducerSystem(producerBuilder);
+
+        List<Message> batch = new ArrayList<>();
+        for(int idx = 0; idx < 10; idx++){
+            batch.add(this.getMessage(idx));
+        }
+        CompletableFuture<Void> syncSends = CompletableFuture.runAsync(() -> {
+            for(int round = 0; round < 5; round++){
+                producer.sendMessages(batch);
+            }
+        });
+        List<CompletableFuture<SendResult>> asyncSends = new ArrayList<>();
+        for(int idx = 0; idx < 20; idx++){
+            asyncSends.add(producer.sendMessageAsync(this.getMessage(idx)));
+        }
+        syncSends.get();
+        CompletableFuture.allOf(asyncSends.toArray(new CompletableFuture[0])).get();
+        producer.close();
+
+        Assert.assertEquals(70, client.publishedCount.get());
+        Assert.assertFalse(client.isConnected());
+    }
+}
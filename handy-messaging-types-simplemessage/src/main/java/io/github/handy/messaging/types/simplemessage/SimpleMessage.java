@@ -26,8 +26,16 @@ package io.github.handy.messaging.types.simplemessage;
 
 import io.github.handy.messaging.interfaces.Message;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
@@ -104,13 +112,46 @@ public class SimpleMessage implements Message {
     }
 
     /**
-     * Function to get the payload
+     * Function to get the payload. The payload is copied into a new array on every call; prefer getPayloadBuffer,
+     * getPayloadStream or getPayloadBytes for large payloads
      * @return byte[] - Payload
      */
     public byte[] getPayload() {
         return this.messageProtoBase.getPayload().toByteArray();
     }
 
+    /**
+     * Function to get a read-only view of the payload, without copying it
+     * @return ByteBuffer - Read-only view of the payload
+     */
+    public ByteBuffer getPayloadBuffer() {
+        return this.messageProtoBase.getPayload().asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Function to get a stream reading the payload, without copying it
+     * @return InputStream - Stream over the payload
+     */
+    public InputStream getPayloadStream() {
+        return this.messageProtoBase.getPayload().newInput();
+    }
+
+    /**
+     * Function to get the payload as an immutable ByteString, without copying it
+     * @return ByteString - Payload
+     */
+    public ByteString getPayloadBytes() {
+        return this.messageProtoBase.getPayload();
+    }
+
+    /**
+     * Function to get the size of the payload
+     * @return int - Size of the payload in bytes
+     */
+    public int getPayloadSize() {
+        return this.messageProtoBase.getPayload().size();
+    }
+
     /**
      * Function to get the content schema
      * @return String - Content schema
@@ -173,6 +214,38 @@ public class SimpleMessage implements Message {
         return this;
     }
 
+    /**
+     * Function to set the payload from a ByteString. ByteStrings are immutable, so the payload is not copied
+     * @param payload - Payload
+     * @return SimpleMessage - Instance of the simple message
+     */
+    public SimpleMessage setPayload(ByteString payload) {
+        this.protoBuilder.setPayload(payload);
+        return this;
+    }
+
+    /**
+     * Function to set the payload to the given array without copying it. The caller hands the array over to the
+     * message and must not modify it afterwards
+     * @param payload - Byte Serialized Payload
+     * @return SimpleMessage - Instance of the simple message
+     */
+    public SimpleMessage wrapPayload(byte[] payload) {
+        this.protoBuilder.setPayload(UnsafeByteOperations.unsafeWrap(payload));
+        return this;
+    }
+
+    /**
+     * Function to set the payload to the remaining bytes of the given buffer without copying them. The caller hands
+     * the buffer over to the message and must not modify it afterwards
+     * @param payload - Byte Serialized Payload
+     * @return SimpleMessage - Instance of the simple message
+     */
+    public SimpleMessage wrapPayload(ByteBuffer payload) {
+        this.protoBuilder.setPayload(UnsafeByteOperations.unsafeWrap(payload));
+        return this;
+    }
+
     /**
      * Function to set the transaction group id in case message ordering is required
      * @param transactionGroupId - Transaction group id
@@ -194,15 +267,40 @@ public class SimpleMessage implements Message {
     }
 
     /**
-     * Function to deserialize the message. The byte serialized data is conerted to the proto message
+     * Function to deserialize the message. The byte serialized data is conerted to the proto message. The array is
+     * handed over to the message: the payload of the message is a view of the array rather than a copy, so the caller
+     * must not modify the array afterwards
      * @param serializedDataArr - Serialized data array
      */
     @Override
     public void deserialize(byte[] serializedDataArr) {
         try {
-            this.messageProtoBase = SimpleMessageType.SimpleProtoMessage.parseFrom(serializedDataArr);
+            CodedInputStream inputStream = CodedInputStream.newInstance(serializedDataArr);
+            inputStream.enableAliasing(true);
+            this.messageProtoBase = SimpleMessageType.SimpleProtoMessage.parseFrom(inputStream);
+        } catch(InvalidProtocolBufferException protoBufException){
+            throw new RuntimeException(protoBufException.getMessage());
+        } catch(IOException ioException){
+            throw new RuntimeException(ioException.getMessage());
+        }
+    }
+
+    /**
+     * Function to deserialize the message from the remaining bytes of a buffer. Buffers backed by an array and direct
+     * buffers are parsed in place, with the payload of the message a view of the buffer; read-only heap buffers are
+     * copied once. The position of the buffer is left unchanged, and the buffer must not be modified afterwards
+     * @param serializedData - Buffer holding the serialized data
+     */
+    @Override
+    public void deserialize(ByteBuffer serializedData) {
+        try {
+            CodedInputStream inputStream = CodedInputStream.newInstance(serializedData.duplicate());
+            inputStream.enableAliasing(true);
+            this.messageProtoBase = SimpleMessageType.SimpleProtoMessage.parseFrom(inputStream);
         } catch(InvalidProtocolBufferException protoBufException){
             throw new RuntimeException(protoBufException.getMessage());
+        } catch(IOException ioException){
+            throw new RuntimeException(ioException.getMessage());
         }
     }
 
@@ -214,4 +312,48 @@ public class SimpleMessage implements Message {
     public byte[] serialize() {
         return this.messageProtoBase.toByteArray();
     }
+
+    /**
+     * Function to get the size of the serialized message
+     * @return int - Size of the serialized message in bytes
+     */
+    @Override
+    public int getSerializedSize() {
+        return this.messageProtoBase.getSerializedSize();
+    }
+
+    /**
+     * Function to serialize the message straight into a stream, without an intermediate array
+     * @param outputStream - Stream to write the serialized message to
+     */
+    public void serializeTo(OutputStream outputStream) {
+        try {
+            this.messageProtoBase.writeTo(outputStream);
+        } catch(IOException ioException){
+            throw new RuntimeException(ioException.getMessage());
+        }
+    }
+
+    /**
+     * Function to serialize the message straight into a buffer, starting at its position. The position of the buffer
+     * is advanced past the serialized message
+     * @param buffer - Buffer to write the serialized message to
+     * @return int - Number of bytes written
+     * @throws BufferOverflowException if the remaining space of the buffer is smaller than the serialized message
+     */
+    @Override
+    public int serializeInto(ByteBuffer buffer) {
+        int serializedSize = this.messageProtoBase.getSerializedSize();
+        if(buffer.remaining() < serializedSize){
+            throw new BufferOverflowException();
+        }
+        try {
+            CodedOutputStream outputStream = CodedOutputStream.newInstance(buffer);
+            this.messageProtoBase.writeTo(outputStream);
+            outputStream.flush();
+        } catch(IOException ioException){
+            throw new RuntimeException(ioException.getMessage());
+        }
+        return serializedSize;
+    }
 }
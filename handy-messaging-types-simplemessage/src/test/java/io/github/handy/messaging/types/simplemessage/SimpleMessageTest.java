@@ -26,6 +26,10 @@ package io.github.handy.messaging.types.simplemessage;
 
 import org.junit.Assert;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
@@ -54,6 +58,64 @@ public class SimpleMessageTest {
         Assert.assertEquals(msg.getHeaderSchema(), deserializedMsg.getHeaderSchema());
     }
 
+    @Test
+    public void zeroCopyPayloadAccessTest() throws IOException {
+        byte[] payload = "Hello, this is a sample message".getBytes();
+        SimpleMessage msg = getMessage().wrapPayload(payload);
+        msg.buildMessage();
+        SimpleMessage deserializedMsg = new SimpleMessage();
+        deserializedMsg.deserialize(msg.serialize());
+        Assert.assertEquals(payload.length, deserializedMsg.getPayloadSize());
+        Assert.assertEquals(ByteBuffer.wrap(payload), deserializedMsg.getPayloadBuffer());
+        Assert.assertTrue(deserializedMsg.getPayloadBuffer().isReadOnly());
+        Assert.assertArrayEquals(payload, deserializedMsg.getPayloadStream().readAllBytes());
+        Assert.assertArrayEquals(payload, deserializedMsg.getPayloadBytes().toByteArray());
+    }
+
+    @Test
+    public void serializeToStreamAndBufferTest(){
+        SimpleMessage msg = getMessage();
+        byte[] serializedMsg = msg.serialize();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        msg.serializeTo(outputStream);
+        Assert.assertArrayEquals(serializedMsg, outputStream.toByteArray());
+        for(ByteBuffer buffer: new ByteBuffer[]{ByteBuffer.allocate(256), ByteBuffer.allocateDirect(256)}){
+            buffer.put((byte) 1);
+            Assert.assertEquals(serializedMsg.length, msg.serializeInto(buffer));
+            Assert.assertEquals(1 + serializedMsg.length, buffer.position());
+            buffer.flip().position(1);
+            byte[] writtenMsg = new byte[buffer.remaining()];
+            buffer.get(writtenMsg);
+            Assert.assertArrayEquals(serializedMsg, writtenMsg);
+        }
+    }
+
+    @Test
+    public void deserializeFromBufferTest(){
+        SimpleMessage msg = getMessage();
+        byte[] serializedMsg = msg.serialize();
+        ByteBuffer heapBuffer = ByteBuffer.allocate(serializedMsg.length + 4);
+        heapBuffer.position(4);
+        msg.serializeInto(heapBuffer);
+        heapBuffer.position(4);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(serializedMsg.length);
+        msg.serializeInto(directBuffer);
+        directBuffer.flip();
+        for(ByteBuffer buffer: new ByteBuffer[]{heapBuffer, directBuffer, ByteBuffer.wrap(serializedMsg).asReadOnlyBuffer()}){
+            int position = buffer.position();
+            SimpleMessage deserializedMsg = new SimpleMessage();
+            deserializedMsg.deserialize(buffer);
+            Assert.assertEquals(position, buffer.position());
+            Assert.assertEquals(msg.getId(), deserializedMsg.getId());
+            Assert.assertArrayEquals(msg.getPayload(), deserializedMsg.getPayload());
+        }
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void serializeToSmallBufferTest(){
+        getMessage().serializeInto(ByteBuffer.allocate(8));
+    }
+
     private SimpleMessage getMessage(){
         SimpleMessage contentMsg = new SimpleMessage();
         contentMsg.setContentSchema(String.class.toString());